@@ -0,0 +1,83 @@
+// k6 load test comparing the platform-thread and virtual-thread modes, and with
+// MODE=reactive the R2DBC read endpoints under /api/rx.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e USER_IDS=1,2,3 -e MODE=platform loadtest/slow-clients.js
+//
+// Every virtual user is a client that keeps its connection open and pauses between
+// requests, and every request blocks on the database. Run it once per mode against
+// the same data and hardware; the summary is written to loadtest/results/<MODE>.json.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USER_IDS = (__ENV.USER_IDS || '1').split(',');
+const MODE = __ENV.MODE || 'unknown';
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '2000', 10);
+const THINK_TIME = parseFloat(__ENV.THINK_TIME || '1');
+
+const REACTIVE = MODE === 'reactive';
+const READS = REACTIVE ? '/api/rx/user' : '/api/user';
+
+const shed = new Counter('shed_503');
+
+export const options = {
+  scenarios: {
+    slow_clients: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '1m', target: MAX_VUS },
+        { duration: '3m', target: MAX_VUS },
+        { duration: '30s', target: 0 },
+      ],
+      gracefulRampDown: '30s',
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    'http_req_duration{endpoint:projects_page}': ['p(95)<500'],
+    'http_req_duration{endpoint:profile}': ['p(95)<300'],
+  },
+  tags: { mode: MODE },
+};
+
+export default function () {
+  const userId = USER_IDS[Math.floor(Math.random() * USER_IDS.length)];
+
+  // The reactive side has no paged listing; it reads the whole (short) list instead
+  const projects = REACTIVE ? `${READS}/projects/${userId}` : `${READS}/projects/${userId}/page?size=20`;
+  const page = http.get(`${BASE_URL}${projects}`, {
+    tags: { endpoint: 'projects_page' },
+  });
+  record(page);
+  sleep(THINK_TIME * Math.random());
+
+  const profile = http.get(`${BASE_URL}${READS}/profile/${userId}`, {
+    tags: { endpoint: 'profile' },
+  });
+  record(profile);
+  sleep(THINK_TIME);
+}
+
+function record(res) {
+  if (res.status === 503) {
+    shed.add(1);
+  }
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+  return {
+    [`loadtest/results/${MODE}.json`]: JSON.stringify(data, null, 2),
+    stdout: `\n${MODE}: p95 ${fmt(data, 'http_req_duration', 'p(95)')} ms, `
+      + `p99 ${fmt(data, 'http_req_duration', 'p(99)')} ms, `
+      + `${fmt(data, 'http_reqs', 'rate')} req/s, `
+      + `failed ${(data.metrics.http_req_failed.values.rate * 100).toFixed(2)}%\n`,
+  };
+}
+
+function fmt(data, metric, stat) {
+  const value = data.metrics[metric] && data.metrics[metric].values[stat];
+  return value === undefined ? 'n/a' : value.toFixed(1);
+}
@@ -0,0 +1,73 @@
+package com.bluecyber.MyFolio_BE.benchmark;
+
+import com.bluecyber.MyFolio_BE.dto.PortfolioResponse;
+import com.bluecyber.MyFolio_BE.dto.ProjectSummary;
+import com.bluecyber.MyFolio_BE.entity.Project;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.security.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the beans under test without a Spring context, using the same
+ * settings as {@code application.yml}.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    static final long EXPIRATION = 86400000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtService jwtService(long verifiedCacheMaxSize) {
+        JwtService jwtService = new JwtService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", EXPIRATION);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheMaxSize", verifiedCacheMaxSize);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+        return jwtService;
+    }
+
+    static User user(int projectCount) {
+        User user = User.builder()
+                .id(42L)
+                .name("Benchmark User")
+                .email("bench@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2Uu6WqS/6dZ8eZ5vWb2Kq5e")
+                .jobTitle("Software Engineer")
+                .bio("Builds things. ".repeat(40))
+                .profileImage("b6630356-1973-480e-bdbb-ccfeeea9438a.jpg")
+                .emailVerified(true)
+                .build();
+        List<Project> projects = new ArrayList<>(projectCount);
+        for (int i = 0; i < projectCount; i++) {
+            projects.add(Project.builder()
+                    .id((long) i)
+                    .name("Project " + i)
+                    .demoUrl("https://demo.example.com/" + i)
+                    .repositoryUrl("https://github.com/example/project-" + i)
+                    .description("A portfolio project description. ".repeat(20))
+                    .user(user)
+                    .build());
+        }
+        user.setProjects(projects);
+        return user;
+    }
+
+    static PortfolioResponse portfolio(int projectCount) {
+        User user = user(projectCount);
+        return PortfolioResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .jobTitle(user.getJobTitle())
+                .bio(user.getBio())
+                .profileImage(user.getProfileImage())
+                .projects(user.getProjects().stream().map(ProjectSummary::from).toList())
+                .build();
+    }
+}
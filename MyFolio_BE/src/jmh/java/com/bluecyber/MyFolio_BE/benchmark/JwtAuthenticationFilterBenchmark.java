@@ -0,0 +1,80 @@
+package com.bluecyber.MyFolio_BE.benchmark;
+
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.security.JwtAuthenticationFilter;
+import com.bluecyber.MyFolio_BE.security.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full pass of the JWT filter over a mock request. The user lookup for
+ * legacy tokens is served from memory, so only the filter's own cost is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"claims", "legacy", "anonymous"})
+    private String tokenType;
+
+    @Param({"0", "10000"})
+    private long verifiedCacheMaxSize;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = BenchmarkFixtures.jwtService(verifiedCacheMaxSize);
+        User user = BenchmarkFixtures.user(0);
+        filter = new JwtAuthenticationFilter(jwtService, username -> user, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "claimsPrincipal", true);
+        authorization = switch (tokenType) {
+            case "claims" -> "Bearer " + jwtService.generateToken(user);
+            case "legacy" -> "Bearer " + jwtService.generateToken(new HashMap<>(), user);
+            default -> null;
+        };
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/me/id");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,113 @@
+package com.bluecyber.MyFolio_BE.benchmark;
+
+import com.bluecyber.MyFolio_BE.dto.SearchPage;
+import com.bluecyber.MyFolio_BE.dto.SearchType;
+import com.bluecyber.MyFolio_BE.search.IndexedProject;
+import com.bluecyber.MyFolio_BE.search.IndexedUser;
+import com.bluecyber.MyFolio_BE.search.SearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Search latency over a synthetic index with one user per ten projects. Words are
+ * drawn from a Zipf-like vocabulary with the stop-word head cut off, so the most
+ * common word ({@code common}) is in about a quarter of all projects and the one
+ * {@code rare} looks for in well under one percent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    private static final int VOCABULARY = 50000;
+    // Ranks of the stop words the analyzer drops
+    private static final int STOP_WORDS = 30;
+
+    @Param({"100000", "1000000"})
+    private int projects;
+
+    private Path indexPath;
+    private SearchIndex searchIndex;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Memory-mapped, as recommended for indexes of this size
+        indexPath = Files.createTempDirectory("search-index");
+        searchIndex = new SearchIndex(indexPath.toString());
+        Random random = new Random(42);
+        searchIndex.rebuild(() -> {
+            for (long id = 1; id <= projects; id++) {
+                long userId = (id + 9) / 10;
+                if (id % 10 == 1) {
+                    searchIndex.index(new IndexedUser(userId, words(random, 2), words(random, 2), words(random, 30)));
+                }
+                searchIndex.index(new IndexedProject(id, userId, words(random, 3), words(random, 60)));
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        searchIndex.close();
+        try (Stream<Path> files = Files.walk(indexPath)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public SearchPage common() {
+        return searchIndex.search("w1", null, 0, 20);
+    }
+
+    @Benchmark
+    public SearchPage twoTerms() {
+        return searchIndex.search("w1 w2", null, 0, 20);
+    }
+
+    @Benchmark
+    public SearchPage rare() {
+        return searchIndex.search("w5000", SearchType.PROJECT, 0, 20);
+    }
+
+    @Benchmark
+    public SearchPage prefix() {
+        return searchIndex.search("w12*", null, 0, 20);
+    }
+
+    @Benchmark
+    public SearchPage lastPage() {
+        return searchIndex.search("w2", null, 980, 20);
+    }
+
+    // Word n is drawn with probability roughly proportional to 1/(n + STOP_WORDS)
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        double head = STOP_WORDS + 1;
+        for (int i = 0; i < count; i++) {
+            int word = (int) (head * Math.pow((VOCABULARY + STOP_WORDS) / head, random.nextDouble())) - STOP_WORDS;
+            text.append(" w").append(word);
+        }
+        return text.toString().trim();
+    }
+}
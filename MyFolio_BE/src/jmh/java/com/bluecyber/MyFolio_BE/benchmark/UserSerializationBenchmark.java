@@ -0,0 +1,57 @@
+package com.bluecyber.MyFolio_BE.benchmark;
+
+import com.bluecyber.MyFolio_BE.dto.PortfolioResponse;
+import com.bluecyber.MyFolio_BE.dto.UserProfileResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the profile and portfolio response types, the latter
+ * with its {@code projects} list.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserSerializationBenchmark {
+
+    @Param({"0", "10", "100"})
+    private int projectCount;
+
+    private ObjectMapper objectMapper;
+    private UserProfileResponse profile;
+    private PortfolioResponse portfolio;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        profile = UserProfileResponse.from(BenchmarkFixtures.user(0));
+        portfolio = BenchmarkFixtures.portfolio(projectCount);
+    }
+
+    @Benchmark
+    public byte[] serializeProfile() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(profile);
+    }
+
+    @Benchmark
+    public byte[] serializePortfolio() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(portfolio);
+    }
+}
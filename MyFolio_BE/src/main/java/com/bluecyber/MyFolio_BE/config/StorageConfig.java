@@ -0,0 +1,100 @@
+package com.bluecyber.MyFolio_BE.config;
+
+import com.bluecyber.MyFolio_BE.storage.BlobStorage;
+import com.bluecyber.MyFolio_BE.storage.LocalBlobStorage;
+import com.bluecyber.MyFolio_BE.storage.S3BlobStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.core.checksums.ResponseChecksumValidation;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.nio.file.Paths;
+
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "storage.type", havingValue = "local", matchIfMissing = true)
+    public BlobStorage localBlobStorage(@Value("${profile-images.directory:uploads/profile-images}") String directory) {
+        return new LocalBlobStorage(Paths.get(directory));
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+    static class S3StorageConfig {
+
+        @Value("${storage.s3.endpoint:}")
+        private String endpoint;
+
+        // Endpoint put into presigned URLs, when clients reach the store under another name
+        @Value("${storage.s3.public-endpoint:${storage.s3.endpoint:}}")
+        private String publicEndpoint;
+
+        @Value("${storage.s3.region:us-east-1}")
+        private String region;
+
+        @Value("${storage.s3.path-style:true}")
+        private boolean pathStyle;
+
+        @Value("${storage.s3.access-key:}")
+        private String accessKey;
+
+        @Value("${storage.s3.secret-key:}")
+        private String secretKey;
+
+        @Bean(destroyMethod = "close")
+        public S3Client s3Client() {
+            var builder = S3Client.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(credentials())
+                    .forcePathStyle(pathStyle)
+                    // Checksums only where the API demands them; not every S3-compatible store supports the newer ones
+                    .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED)
+                    .responseChecksumValidation(ResponseChecksumValidation.WHEN_REQUIRED);
+            if (!endpoint.isBlank()) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            return builder.build();
+        }
+
+        @Bean(destroyMethod = "close")
+        public S3Presigner s3Presigner() {
+            var builder = S3Presigner.builder()
+                    .region(Region.of(region))
+                    .credentialsProvider(credentials())
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyle).build());
+            if (!publicEndpoint.isBlank()) {
+                builder.endpointOverride(URI.create(publicEndpoint));
+            }
+            return builder.build();
+        }
+
+        @Bean
+        public BlobStorage s3BlobStorage(
+                S3Client s3Client,
+                S3Presigner s3Presigner,
+                @Value("${storage.s3.bucket}") String bucket,
+                @Value("${storage.s3.prefix:profile-images/}") String prefix
+        ) {
+            return new S3BlobStorage(s3Client, s3Presigner, bucket, prefix);
+        }
+
+        private AwsCredentialsProvider credentials() {
+            if (accessKey.isBlank()) {
+                return DefaultCredentialsProvider.builder().build();
+            }
+            return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        }
+    }
+}
@@ -2,27 +2,11 @@ package com.bluecyber.MyFolio_BE.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Handle direct access to uploads
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:uploads/")
-                .setCachePeriod(3600)
-                .resourceChain(true);
-                
-        // Handle access through /static/uploads
-        registry.addResourceHandler("/static/uploads/**")
-                .addResourceLocations("file:uploads/")
-                .setCachePeriod(3600)
-                .resourceChain(true);
-    }
-
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -31,4 +15,4 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.dto.PortfolioResponse;
+import com.bluecyber.MyFolio_BE.service.PortfolioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/portfolio")
+@RequiredArgsConstructor
+public class PortfolioController {
+
+    private final PortfolioService portfolioService;
+
+    @GetMapping("/{userId}")
+    public ResponseEntity<PortfolioResponse> getPortfolio(@PathVariable Long userId, WebRequest request) {
+        PortfolioResponse portfolio = portfolioService.getPortfolio(userId);
+        if (request.checkNotModified(
+                ResourceVersions.etag("portfolio", portfolio.getId(), portfolio.getVersion()),
+                ResourceVersions.lastModified(portfolio.getUpdatedAt()))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(portfolio);
+    }
+}
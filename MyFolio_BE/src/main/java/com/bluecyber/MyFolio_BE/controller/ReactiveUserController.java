@@ -0,0 +1,85 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.dto.ProjectSummary;
+import com.bluecyber.MyFolio_BE.dto.UserProfileResponse;
+import com.bluecyber.MyFolio_BE.exception.ResourceNotFoundException;
+import com.bluecyber.MyFolio_BE.repository.ReactivePortfolioRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking variants of the public profile and project reads in
+ * {@link UserController}, backed by R2DBC. The request thread is released as soon
+ * as the query is issued and the response is written when the rows arrive, so slow
+ * reads do not hold servlet threads. Responses and validators match the blocking
+ * endpoints.
+ */
+@RestController
+@RequestMapping("/api/rx/user")
+@RequiredArgsConstructor
+public class ReactiveUserController {
+
+    private final ReactivePortfolioRepository portfolioRepository;
+
+    @GetMapping("/profile/{userId}")
+    public Mono<ResponseEntity<UserProfileResponse>> getUserProfile(
+            @PathVariable Long userId,
+            @RequestHeader HttpHeaders headers
+    ) {
+        return portfolioRepository.findProfileById(userId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User not found")))
+                .map(profile -> {
+                    String etag = ResourceVersions.etag("profile", profile.getId(), profile.getVersion());
+                    long lastModified = ResourceVersions.lastModified(profile.getUpdatedAt());
+                    return ResourceVersions.notModified(headers, etag, lastModified)
+                            ? notModified(etag, lastModified)
+                            : ok(etag, lastModified).body(profile);
+                });
+    }
+
+    @GetMapping("/projects/{userId}")
+    public Mono<ResponseEntity<List<ProjectSummary>>> getUserProjects(
+            @PathVariable Long userId,
+            @RequestHeader HttpHeaders headers
+    ) {
+        return portfolioRepository.findVersionById(userId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User not found")))
+                .flatMap(user -> {
+                    String etag = ResourceVersions.etag("projects", user);
+                    long lastModified = ResourceVersions.lastModified(user);
+                    if (ResourceVersions.notModified(headers, etag, lastModified)) {
+                        return Mono.just(notModified(etag, lastModified));
+                    }
+                    return portfolioRepository.findSummariesByUserId(userId)
+                            .collectList()
+                            .map(projects -> ok(etag, lastModified).body(projects));
+                });
+    }
+
+    private static ResponseEntity.BodyBuilder ok(String etag, long lastModified) {
+        return validators(ResponseEntity.ok().cacheControl(CacheControl.noCache()), etag, lastModified);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag, long lastModified) {
+        return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag, lastModified).build();
+    }
+
+    private static ResponseEntity.BodyBuilder validators(ResponseEntity.BodyBuilder builder, String etag, long lastModified) {
+        builder.eTag(etag);
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,62 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.dto.UserVersion;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+
+/**
+ * Validators for conditional GETs on user-owned resources. Project writes bump the
+ * owner's version, so one user version covers the profile, project list and portfolio.
+ */
+final class ResourceVersions {
+
+    private ResourceVersions() {
+    }
+
+    static String etag(String resource, UserVersion user) {
+        return etag(resource, user.getId(), user.getVersion());
+    }
+
+    static String etag(String resource, Long userId, long version) {
+        return "\"" + resource + "-" + userId + "-v" + version + "\"";
+    }
+
+    static long lastModified(UserVersion user) {
+        return lastModified(user.getUpdatedAt());
+    }
+
+    static long lastModified(Instant updatedAt) {
+        return updatedAt != null ? updatedAt.toEpochMilli() : -1;
+    }
+
+    /**
+     * Whether an If-None-Match header names the given ETag. Weak comparison, as
+     * conditional GETs allow.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || candidate.equals(etag) || candidate.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a conditional GET can be answered with 304, as
+     * {@code WebRequest.checkNotModified} decides it: If-None-Match when present,
+     * otherwise If-Modified-Since, compared in the whole seconds of an HTTP date.
+     */
+    static boolean notModified(HttpHeaders request, String etag, long lastModified) {
+        if (request.containsKey(HttpHeaders.IF_NONE_MATCH)) {
+            return matches(String.join(",", request.get(HttpHeaders.IF_NONE_MATCH)), etag);
+        }
+        long ifModifiedSince = request.getIfModifiedSince();
+        return ifModifiedSince >= 0 && lastModified >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+}
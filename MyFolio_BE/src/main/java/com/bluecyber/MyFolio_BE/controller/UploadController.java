@@ -0,0 +1,168 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.exception.ResourceNotFoundException;
+import com.bluecyber.MyFolio_BE.storage.BlobStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Serves uploaded profile images. Content-addressed names ({@code ab/cd/<sha256>...})
+ * never change and are cached as immutable; their ETag is derived from the name, so
+ * answering a request costs one stat call. Files on local disk are handed to the
+ * connector for sendfile where it supports it, and support single byte ranges.
+ * Objects in remote storage are redirected to presigned URLs.
+ */
+@RestController
+@RequiredArgsConstructor
+public class UploadController {
+
+    private static final String PREFIX = "/uploads/profile-images/";
+
+    // Tomcat sends the file itself after the request when these are set
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}(-\\d+)?\\.(jpg|png|gif)");
+    // Uploads from before content addressing: <uuid>[-width].<ext>
+    private static final Pattern LEGACY = Pattern.compile("[0-9a-f-]{36}(-\\d+)?\\.(jpg|jpeg|png|gif)");
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+    private static final CacheControl LEGACY_CACHE = CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic();
+
+    private final BlobStorage storage;
+
+    @Value("${storage.s3.presign-ttl:1h}")
+    private Duration presignTtl;
+
+    @RequestMapping(value = PREFIX + "**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String name = request.getRequestURI().substring(request.getContextPath().length() + PREFIX.length());
+        boolean immutable = CONTENT_ADDRESSED.matcher(name).matches();
+        if (!immutable && !LEGACY.matcher(name).matches()) {
+            throw new ResourceNotFoundException("Image not found");
+        }
+
+        Path file = storage.localFile(name).orElse(null);
+        if (file == null) {
+            redirect(name, response);
+            return;
+        }
+
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Image not found");
+        }
+        try (channel) {
+            long length = channel.size();
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            String etag = immutable
+                    ? "\"" + name.substring(name.lastIndexOf('/') + 1, name.lastIndexOf('.')) + "\""
+                    : "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+            response.setHeader(HttpHeaders.CACHE_CONTROL, (immutable ? IMMUTABLE : LEGACY_CACHE).getHeaderValue());
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+                return;
+            }
+            response.setContentType(contentType(name));
+
+            long start = 0;
+            long end = length;
+            String range = request.getHeader(HttpHeaders.RANGE);
+            if (range != null && ifRangeMatches(request, etag)) {
+                List<HttpRange> ranges;
+                try {
+                    ranges = HttpRange.parseRanges(range);
+                } catch (IllegalArgumentException e) {
+                    ranges = List.of();
+                }
+                // Multipart ranges are not worth it for images; serve those whole
+                if (ranges.size() == 1) {
+                    HttpRange requested = ranges.get(0);
+                    start = requested.getRangeStart(length);
+                    end = requested.getRangeEnd(length) + 1;
+                    if (start >= length || start >= end) {
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                        return;
+                    }
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+                }
+            }
+            response.setContentLengthLong(end - start);
+            if ("HEAD".equals(request.getMethod())) {
+                return;
+            }
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end);
+                return;
+            }
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, target);
+            }
+            out.flush();
+        }
+    }
+
+    private void redirect(String name, HttpServletResponse response) {
+        URI url = storage.presignedGetUrl(name, presignTtl)
+                .orElseThrow(() -> new ResourceNotFoundException("Image not found"));
+        // A cached redirect must not outlive its signature
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(presignTtl.dividedBy(2)).cachePublic().getHeaderValue());
+        response.setHeader(HttpHeaders.LOCATION, url.toString());
+        response.setStatus(HttpServletResponse.SC_FOUND);
+    }
+
+    /**
+     * A Range only applies if the client's copy, identified by If-Range, is current.
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(etag);
+    }
+
+    private static String contentType(String name) {
+        if (name.endsWith(".png")) {
+            return "image/png";
+        }
+        if (name.endsWith(".gif")) {
+            return "image/gif";
+        }
+        return "image/jpeg";
+    }
+}
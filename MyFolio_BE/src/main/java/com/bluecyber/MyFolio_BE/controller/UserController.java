@@ -1,20 +1,29 @@
 package com.bluecyber.MyFolio_BE.controller;
 
+import com.bluecyber.MyFolio_BE.dto.ProfileImageUpload;
+import com.bluecyber.MyFolio_BE.dto.ProjectBundle;
+import com.bluecyber.MyFolio_BE.dto.ProjectPage;
 import com.bluecyber.MyFolio_BE.dto.ProjectRequest;
+import com.bluecyber.MyFolio_BE.dto.ProjectSort;
+import com.bluecyber.MyFolio_BE.dto.ProjectSummary;
 import com.bluecyber.MyFolio_BE.dto.UserProfileRequest;
 import com.bluecyber.MyFolio_BE.dto.ChangePasswordRequest;
-import com.bluecyber.MyFolio_BE.entity.Project;
-import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.dto.UserProfileResponse;
+import com.bluecyber.MyFolio_BE.dto.UserVersion;
 import com.bluecyber.MyFolio_BE.service.ProjectService;
 import com.bluecyber.MyFolio_BE.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 
@@ -28,32 +37,45 @@ public class UserController {
 
     @GetMapping("/me/id")
     public ResponseEntity<Map<String, Long>> getCurrentUserId() {
-        User currentUser = userService.getCurrentUser();
-        return ResponseEntity.ok(Map.of("id", currentUser.getId()));
+        return ResponseEntity.ok(Map.of("id", userService.getCurrentUserId()));
     }
 
     @GetMapping("/profile/me")
-    public ResponseEntity<User> getCurrentUserProfile() {
-        return ResponseEntity.ok(userService.getCurrentUser());
+    public ResponseEntity<UserProfileResponse> getCurrentUserProfile() {
+        return ResponseEntity.ok(userService.getCurrentUserProfile());
     }
 
     @GetMapping("/profile/{userId}")
-    public ResponseEntity<User> getUserProfile(@PathVariable Long userId) {
-        return ResponseEntity.ok(userService.getUserById(userId));
+    public ResponseEntity<UserProfileResponse> getUserProfile(@PathVariable Long userId, WebRequest request) {
+        UserProfileResponse profile = userService.getProfile(userId);
+        if (request.checkNotModified(
+                ResourceVersions.etag("profile", profile.getId(), profile.getVersion()),
+                ResourceVersions.lastModified(profile.getUpdatedAt()))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(profile);
     }
 
     @PutMapping("/profile")
-    public ResponseEntity<User> updateProfile(@RequestBody @Valid UserProfileRequest request) {
+    public ResponseEntity<UserProfileResponse> updateProfile(@RequestBody @Valid UserProfileRequest request) {
         return ResponseEntity.ok(userService.updateProfile(request));
     }
 
     @PostMapping("/profile/image")
-    public ResponseEntity<User> updateProfileImage(@RequestParam("file") MultipartFile file) throws IOException {
+    public ResponseEntity<UserProfileResponse> updateProfileImage(@RequestParam("file") MultipartFile file) throws IOException {
         return ResponseEntity.ok(userService.updateProfileImage(file));
     }
 
+    @PutMapping(value = "/profile/image", consumes = {"image/jpeg", "image/png", "image/gif"})
+    public ResponseEntity<UserProfileResponse> uploadProfileImage(HttpServletRequest request) throws IOException {
+        ProfileImageUpload upload = userService.uploadProfileImage(request.getInputStream(), request.getContentLengthLong());
+        return ResponseEntity.ok()
+                .header("Repr-Digest", "sha-256=:" + Base64.getEncoder().encodeToString(upload.getSha256()) + ":")
+                .body(upload.getProfile());
+    }
+
     @DeleteMapping("/profile/image")
-    public ResponseEntity<User> deleteProfileImage() {
+    public ResponseEntity<UserProfileResponse> deleteProfileImage() {
         return ResponseEntity.ok(userService.deleteProfileImage());
     }
 
@@ -64,10 +86,9 @@ public class UserController {
     }
 
     @GetMapping("/projects/me")
-    public ResponseEntity<List<Project>> getCurrentUserProjects() {
+    public ResponseEntity<List<ProjectSummary>> getCurrentUserProjects() {
         try {
-            User currentUser = userService.getCurrentUser();
-            List<Project> projects = projectService.getUserProjects(currentUser.getId());
+            List<ProjectSummary> projects = projectService.getUserProjects(userService.getCurrentUserId());
             return ResponseEntity.ok(projects != null ? projects : new ArrayList<>());
         } catch (Exception e) {
             // Log the error
@@ -77,18 +98,42 @@ public class UserController {
         }
     }
 
+    @GetMapping("/projects/export")
+    public ResponseEntity<ProjectBundle> exportProjects() {
+        return ResponseEntity.ok(projectService.exportProjects());
+    }
+
     @GetMapping("/projects/{userId}")
-    public ResponseEntity<List<Project>> getUserProjects(@PathVariable Long userId) {
-        return ResponseEntity.ok(projectService.getUserProjects(userId));
+    public ResponseEntity<List<ProjectSummary>> getUserProjects(@PathVariable Long userId, WebRequest request) {
+        UserVersion user = userService.getUserVersion(userId);
+        if (request.checkNotModified(ResourceVersions.etag("projects", user), ResourceVersions.lastModified(user))) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(projectService.getUserProjects(userId));
+    }
+
+    @GetMapping("/projects/{userId}/page")
+    public ResponseEntity<ProjectPage> getUserProjectPage(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "newest") String sort
+    ) {
+        return ResponseEntity.ok(projectService.getUserProjectPage(userId, cursor, size, ProjectSort.fromParam(sort)));
     }
 
     @PostMapping("/projects")
-    public ResponseEntity<Project> addProject(@RequestBody @Valid ProjectRequest request) {
+    public ResponseEntity<ProjectSummary> addProject(@RequestBody @Valid ProjectRequest request) {
         return ResponseEntity.ok(projectService.addProject(request));
     }
 
+    @PostMapping("/projects/bulk")
+    public ResponseEntity<List<ProjectSummary>> importProjects(@RequestBody @Valid ProjectBundle bundle) {
+        return ResponseEntity.ok(projectService.importProjects(bundle));
+    }
+
     @PutMapping("/projects/{projectId}")
-    public ResponseEntity<Project> updateProject(
+    public ResponseEntity<ProjectSummary> updateProject(
             @PathVariable Long projectId,
             @RequestBody @Valid ProjectRequest request
     ) {
@@ -0,0 +1,22 @@
+package com.bluecyber.MyFolio_BE.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@Builder
+@AllArgsConstructor
+public class FeedEntry {
+    Long userId;
+    String name;
+    String jobTitle;
+    String profileImage;
+    /** Last change to the profile or any of its projects. */
+    Instant updatedAt;
+    /** The user's most recently changed project; both {@code null} without projects. */
+    Long latestProjectId;
+    String latestProjectName;
+}
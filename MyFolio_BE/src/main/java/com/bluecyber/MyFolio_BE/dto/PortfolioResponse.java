@@ -0,0 +1,25 @@
+package com.bluecyber.MyFolio_BE.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Value
+@Builder
+public class PortfolioResponse {
+    Long id;
+    String name;
+    String email;
+    String jobTitle;
+    String bio;
+    String profileImage;
+    Map<String, String> profileImageUrls;
+    List<ProjectSummary> projects;
+    @JsonIgnore
+    long version;
+    Instant updatedAt;
+}
@@ -0,0 +1,13 @@
+package com.bluecyber.MyFolio_BE.dto;
+
+import lombok.Value;
+
+/**
+ * Result of a streamed profile image upload: the updated profile plus the SHA-256
+ * of the bytes received, for the client to check against what it sent.
+ */
+@Value
+public class ProfileImageUpload {
+    UserProfileResponse profile;
+    byte[] sha256;
+}
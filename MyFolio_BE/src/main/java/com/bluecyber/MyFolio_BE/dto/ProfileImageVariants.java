@@ -0,0 +1,67 @@
+package com.bluecyber.MyFolio_BE.dto;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Naming and sizes of stored profile images. Uploads are stored under the SHA-256 of their
+ * content, sharded by the first two byte pairs of the hash (e.g. {@code ab/cd/abcd...}),
+ * with one resized JPEG per width next to the original. Since a name never changes
+ * content, the URLs can be cached indefinitely.
+ */
+public final class ProfileImageVariants {
+
+    public static final List<Integer> WIDTHS = List.of(64, 256, 1024);
+    /**
+     * A variant is at most this many times as tall as its width, so a very tall
+     * upload is scaled down by its height rather than kept at full length.
+     */
+    public static final int MAX_ASPECT_RATIO = 4;
+    public static final String URL_PREFIX = "/uploads/profile-images/";
+
+    private ProfileImageVariants() {
+    }
+
+    private static final int HASH_LENGTH = 64;
+
+    public static String shard(String hash) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/";
+    }
+
+    public static String originalName(String hash, String extension) {
+        return shard(hash) + hash + extension;
+    }
+
+    public static String fileName(String key, int width) {
+        return prefix(key) + key + "-" + width + ".jpg";
+    }
+
+    // Images from before content addressing live unsharded under a random key
+    private static String prefix(String key) {
+        return key.length() == HASH_LENGTH ? shard(key) : "";
+    }
+
+    public static int largestWidth() {
+        return WIDTHS.get(WIDTHS.size() - 1);
+    }
+
+    public static int maxHeight(int width) {
+        return width * MAX_ASPECT_RATIO;
+    }
+
+    /**
+     * URL per width, smallest first; empty while the upload is still being processed.
+     */
+    public static Map<String, String> urls(String key) {
+        if (key == null) {
+            return Map.of();
+        }
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (int width : WIDTHS) {
+            urls.put(String.valueOf(width), URL_PREFIX + fileName(key, width));
+        }
+        return Collections.unmodifiableMap(urls);
+    }
+}
@@ -0,0 +1,23 @@
+package com.bluecyber.MyFolio_BE.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of a bulk project import and document returned by the export, so an export
+ * can be imported again as is.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectBundle {
+    @NotEmpty(message = "At least one project is required")
+    private List<@Valid ProjectRequest> projects;
+}
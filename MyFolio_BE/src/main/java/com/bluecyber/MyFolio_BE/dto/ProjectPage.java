@@ -0,0 +1,14 @@
+package com.bluecyber.MyFolio_BE.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class ProjectPage {
+    List<ProjectSummary> items;
+    /** Opaque cursor for the next page, {@code null} on the last page. */
+    String nextCursor;
+}
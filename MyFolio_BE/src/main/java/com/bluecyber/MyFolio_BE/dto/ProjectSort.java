@@ -0,0 +1,20 @@
+package com.bluecyber.MyFolio_BE.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public enum ProjectSort {
+    /** Most recently created first, ties broken by id. */
+    NEWEST,
+    /** Alphabetical by name, ties broken by id. */
+    NAME;
+
+    public static ProjectSort fromParam(String value) {
+        for (ProjectSort sort : values()) {
+            if (sort.name().equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort: " + value);
+    }
+}
@@ -0,0 +1,34 @@
+package com.bluecyber.MyFolio_BE.dto;
+
+import com.bluecyber.MyFolio_BE.entity.Project;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+@Builder
+@AllArgsConstructor
+public class ProjectSummary {
+    Long id;
+    String name;
+    String demoUrl;
+    String repositoryUrl;
+    String description;
+    /** Sort key of newest-first pages; not part of the API. */
+    @JsonIgnore
+    Instant createdAt;
+
+    public static ProjectSummary from(Project project) {
+        return ProjectSummary.builder()
+                .id(project.getId())
+                .name(project.getName())
+                .demoUrl(project.getDemoUrl())
+                .repositoryUrl(project.getRepositoryUrl())
+                .description(project.getDescription())
+                .createdAt(project.getCreatedAt())
+                .build();
+    }
+}
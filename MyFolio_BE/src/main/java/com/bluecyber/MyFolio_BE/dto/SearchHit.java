@@ -0,0 +1,18 @@
+package com.bluecyber.MyFolio_BE.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class SearchHit {
+    SearchType type;
+    /** Project id or user id, depending on the type. */
+    Long id;
+    /** Owner of the project; the user itself for user hits. */
+    Long userId;
+    String name;
+    /** Job title for users, the start of the description for projects. */
+    String detail;
+    float score;
+}
@@ -0,0 +1,15 @@
+package com.bluecyber.MyFolio_BE.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class SearchPage {
+    List<SearchHit> items;
+    /** Number of matches; a lower bound once it reaches 1000. */
+    long total;
+    boolean hasMore;
+}
@@ -0,0 +1,18 @@
+package com.bluecyber.MyFolio_BE.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public enum SearchType {
+    PROJECT,
+    USER;
+
+    public static SearchType fromParam(String value) {
+        for (SearchType type : values()) {
+            if (type.name().equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported search type: " + value);
+    }
+}
@@ -0,0 +1,47 @@
+package com.bluecyber.MyFolio_BE.dto;
+
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Value
+@Builder
+@AllArgsConstructor
+public class UserProfileResponse {
+    Long id;
+    String name;
+    String email;
+    String jobTitle;
+    String bio;
+    String profileImage;
+    @JsonIgnore
+    String profileImageKey;
+    boolean emailVerified;
+    @JsonIgnore
+    long version;
+    Instant updatedAt;
+
+    public Map<String, String> getProfileImageUrls() {
+        return ProfileImageVariants.urls(profileImageKey);
+    }
+
+    public static UserProfileResponse from(User user) {
+        return UserProfileResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .jobTitle(user.getJobTitle())
+                .bio(user.getBio())
+                .profileImage(user.getProfileImage())
+                .profileImageKey(user.getProfileImageKey())
+                .emailVerified(user.isEmailVerified())
+                .version(user.getVersion())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+}
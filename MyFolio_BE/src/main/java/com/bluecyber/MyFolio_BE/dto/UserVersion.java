@@ -0,0 +1,12 @@
+package com.bluecyber.MyFolio_BE.dto;
+
+import java.time.Instant;
+
+/**
+ * Interface projection with just enough of a user to answer conditional GETs.
+ */
+public interface UserVersion {
+    Long getId();
+    long getVersion();
+    Instant getUpdatedAt();
+}
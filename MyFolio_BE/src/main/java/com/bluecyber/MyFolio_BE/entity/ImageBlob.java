@@ -0,0 +1,49 @@
+package com.bluecyber.MyFolio_BE.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * An uploaded image stored once under the SHA-256 of its content, together with
+ * the number of users referencing it. Blobs whose count dropped to zero are
+ * reclaimed by {@link com.bluecyber.MyFolio_BE.service.ImageBlobStore} after a grace period.
+ */
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "image_blobs", indexes = {
+        @Index(name = "idx_image_blobs_released_at", columnList = "released_at")
+})
+public class ImageBlob {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false, length = 8)
+    private String extension;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false)
+    private int refCount;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    /**
+     * When the last reference was dropped; null while the blob is in use.
+     */
+    private Instant releasedAt;
+}
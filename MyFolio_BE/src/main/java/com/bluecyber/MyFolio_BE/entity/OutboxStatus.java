@@ -0,0 +1,12 @@
+package com.bluecyber.MyFolio_BE.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    /**
+     * Claimed by a worker until {@code nextAttemptAt}; due again after that if the
+     * worker never recorded the outcome.
+     */
+    SENDING,
+    SENT,
+    DEAD
+}
@@ -1,22 +1,42 @@
 package com.bluecyber.MyFolio_BE.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-@Data
+import java.time.Instant;
+
+@Getter
+@Setter
+@ToString
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+        @Index(name = "idx_projects_user_name", columnList = "user_id, name, id"),
+        @Index(name = "idx_projects_user_created", columnList = "user_id, created_at, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Project {
+    // Ids are handed out in blocks of 50 (pooled), so inserts need no round trip
+    // for the id and can be batched; keep allocationSize in step with V8. Each
+    // instance holds its own block, so ids do not follow creation order: sort by
+    // createdAt for that
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "project_ids")
+    @TableGenerator(name = "project_ids", table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "projects", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Project name is required")
@@ -29,8 +49,29 @@ public class Project {
     @Column(length = 1000)
     private String description;
 
+    @JsonIgnore
+    @Version
+    private long version;
+
+    @Column(updatable = false)
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
     @JsonBackReference
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
-} 
\ No newline at end of file
+
+    @PrePersist
+    void markCreated() {
+        createdAt = Instant.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    void markUpdated() {
+        updatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,6 @@
+package com.bluecyber.MyFolio_BE.entity;
+
+public enum Role {
+    USER,
+    ADMIN
+}
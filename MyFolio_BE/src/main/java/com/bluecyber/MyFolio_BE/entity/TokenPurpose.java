@@ -0,0 +1,6 @@
+package com.bluecyber.MyFolio_BE.entity;
+
+public enum TokenPurpose {
+    EMAIL_VERIFICATION,
+    PASSWORD_RESET
+}
@@ -7,22 +7,40 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.type.SqlTypes;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
+@ToString
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_unverified_created", columnList = "email_verified, created_at"),
+        @Index(name = "idx_users_verified_updated", columnList = "email_verified, updated_at, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 public class User implements UserDetails {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -33,10 +51,12 @@ public class User implements UserDetails {
 
     @Email(message = "Invalid email format")
     @NotBlank(message = "Email is required")
+    @NaturalId
     @Column(unique = true)
     private String email;
 
     @JsonIgnore
+    @ToString.Exclude
     @NotBlank(message = "Password is required")
     private String password;
 
@@ -46,29 +66,63 @@ public class User implements UserDetails {
     private String bio;
     
     private String profileImage;
+
+    /**
+     * Key of the resized variants of the profile image; null until processing finishes.
+     */
+    @Column(length = 64)
+    private String profileImageKey;
+
+    /**
+     * Content hash of the uploaded profile image; the user holds one reference to
+     * that {@link ImageBlob}. Null for images uploaded before content addressing.
+     */
+    @Column(length = 64)
+    private String profileImageHash;
     
     private boolean emailVerified;
+
+    /**
+     * Granted as {@code ROLE_<role>}. Admins are promoted in the database; there is
+     * no endpoint that changes a role.
+     */
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private Role role = Role.USER;
     
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Instant createdAt;
+
     @JsonIgnore
-    private String verificationToken;
-    
-    @JsonIgnore
-    private Long verificationTokenExpiry;
-    
-    @JsonIgnore
-    private String resetPasswordToken;
-    
-    @JsonIgnore
-    private Long resetPasswordTokenExpiry;
+    @Version
+    private long version;
+
+    private Instant updatedAt;
 
     @JsonManagedReference
+    @ToString.Exclude
+    @Builder.Default
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Project> projects = new ArrayList<>();
 
+    /**
+     * Stamps a new modification time. Called explicitly when a project changes so
+     * the user's version, and with it the portfolio ETag, moves as well.
+     */
+    @PrePersist
+    @PreUpdate
+    public void markUpdated() {
+        updatedAt = Instant.now();
+    }
+
     @JsonIgnore
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
     }
 
     @JsonIgnore
@@ -0,0 +1,8 @@
+package com.bluecyber.MyFolio_BE.event;
+
+/**
+ * Published after a user verified their email address, which makes their profile
+ * and projects public in search and discovery.
+ */
+public record EmailVerifiedEvent(Long userId) {
+}
@@ -0,0 +1,7 @@
+package com.bluecyber.MyFolio_BE.event;
+
+/**
+ * Published after a user's public profile fields or image change.
+ */
+public record ProfileChangedEvent(Long userId) {
+}
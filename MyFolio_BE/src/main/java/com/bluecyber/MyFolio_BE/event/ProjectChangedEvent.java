@@ -0,0 +1,13 @@
+package com.bluecyber.MyFolio_BE.event;
+
+/**
+ * Published after a project is created, updated or deleted.
+ */
+public record ProjectChangedEvent(Long userId, Long projectId, ChangeType type) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,10 @@
+package com.bluecyber.MyFolio_BE.event;
+
+import java.util.List;
+
+/**
+ * Published after a bulk import created projects for a user, in place of one
+ * {@link ProjectChangedEvent} per project.
+ */
+public record ProjectsImportedEvent(Long userId, List<Long> projectIds) {
+}
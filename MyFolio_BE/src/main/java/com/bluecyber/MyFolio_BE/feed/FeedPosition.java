@@ -0,0 +1,43 @@
+package com.bluecyber.MyFolio_BE.feed;
+
+import com.bluecyber.MyFolio_BE.dto.FeedEntry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Sort key of a feed entry, newest first, and the cursor pointing just past it.
+ * Serialized as URL-safe Base64 so clients treat it as opaque.
+ */
+record FeedPosition(Instant updatedAt, Long userId) {
+
+    static final Comparator<FeedPosition> NEWEST_FIRST = Comparator.comparing(FeedPosition::updatedAt)
+            .thenComparing(FeedPosition::userId)
+            .reversed();
+
+    private static final char SEPARATOR = '\n';
+
+    static FeedPosition of(FeedEntry entry) {
+        return new FeedPosition(entry.getUpdatedAt(), entry.getUserId());
+    }
+
+    String encode() {
+        String raw = updatedAt.toString() + SEPARATOR + userId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static FeedPosition decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), 2);
+            return new FeedPosition(Instant.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
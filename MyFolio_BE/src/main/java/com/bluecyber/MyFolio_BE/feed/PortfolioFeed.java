@@ -0,0 +1,89 @@
+package com.bluecyber.MyFolio_BE.feed;
+
+import com.bluecyber.MyFolio_BE.dto.FeedEntry;
+import com.bluecyber.MyFolio_BE.dto.FeedPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The most recently updated portfolios, newest first, one entry per user and at
+ * most {@code feed.max-size} of them; older entries fall off the end. Reads walk
+ * the sorted map from the cursor without locking, so a page costs its own size
+ * whatever the size of the feed. Writes are serialized.
+ */
+@Component
+public class PortfolioFeed {
+
+    private final ConcurrentSkipListMap<FeedPosition, FeedEntry> entries =
+            new ConcurrentSkipListMap<>(FeedPosition.NEWEST_FIRST);
+    // Where each user's entry currently sits; guarded by this
+    private final Map<Long, FeedPosition> positions = new HashMap<>();
+    private final int capacity;
+
+    public PortfolioFeed(@Value("${feed.max-size:1000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Adds or moves the user's entry, unless it is older than the one already in
+     * the feed (events for the same user may be handled out of order).
+     */
+    public synchronized void put(FeedEntry entry) {
+        FeedPosition current = positions.get(entry.getUserId());
+        if (current != null) {
+            if (current.updatedAt().isAfter(entry.getUpdatedAt())) {
+                return;
+            }
+            entries.remove(current);
+        }
+        FeedPosition position = FeedPosition.of(entry);
+        entries.put(position, entry);
+        positions.put(entry.getUserId(), position);
+        if (positions.size() > capacity) {
+            positions.remove(entries.pollLastEntry().getKey().userId());
+        }
+    }
+
+    public synchronized void remove(Long userId) {
+        FeedPosition position = positions.remove(userId);
+        if (position != null) {
+            entries.remove(position);
+        }
+    }
+
+    public synchronized void replaceAll(Collection<FeedEntry> newEntries) {
+        entries.clear();
+        positions.clear();
+        newEntries.forEach(this::put);
+    }
+
+    /**
+     * Up to {@code size} entries following the cursor. An entry that moves to the
+     * front while a client pages through the feed is not shown to it twice.
+     */
+    public FeedPage page(String cursor, int size) {
+        NavigableMap<FeedPosition, FeedEntry> tail = cursor == null || cursor.isBlank()
+                ? entries
+                : entries.tailMap(FeedPosition.decode(cursor), false);
+        List<FeedEntry> items = new ArrayList<>(size);
+        Iterator<FeedEntry> iterator = tail.values().iterator();
+        while (items.size() < size && iterator.hasNext()) {
+            items.add(iterator.next());
+        }
+        String nextCursor = iterator.hasNext() ? FeedPosition.of(items.get(size - 1)).encode() : null;
+        return FeedPage.builder().items(items).nextCursor(nextCursor).build();
+    }
+}
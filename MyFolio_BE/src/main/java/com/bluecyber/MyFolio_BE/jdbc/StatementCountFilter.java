@@ -0,0 +1,84 @@
+package com.bluecyber.MyFolio_BE.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the statements each request runs, authentication included. The count is
+ * recorded as {@code http.server.requests.statements} per endpoint, and requests
+ * running more than the warning threshold are logged with their first statements,
+ * which is usually enough to spot an N+1. The count and statements are also left
+ * on the request for tests.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_ATTRIBUTE = StatementCountFilter.class.getName() + ".count";
+    public static final String STATEMENTS_ATTRIBUTE = StatementCountFilter.class.getName() + ".statements";
+
+    private static final int LOGGED_STATEMENTS = 10;
+
+    private final MeterRegistry meterRegistry;
+    private final int warningThreshold;
+
+    public StatementCountFilter(
+            MeterRegistry meterRegistry,
+            @Value("${jdbc.request-statement-warning:20}") int warningThreshold
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.warningThreshold = warningThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        try (StatementScope scope = StatementScope.open(request.getMethod() + " " + request.getRequestURI())) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                report(request, scope);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, StatementScope scope) {
+        request.setAttribute(COUNT_ATTRIBUTE, scope.getCount());
+        request.setAttribute(STATEMENTS_ATTRIBUTE, scope.getStatements());
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("JDBC statements run per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.getCount());
+
+        if (scope.getCount() > warningThreshold) {
+            log.warn("{} {} ran {} statements in {} ms, first ones: {}", request.getMethod(), uri,
+                    scope.getCount(), scope.getElapsedMillis(),
+                    scope.getStatements().subList(0, Math.min(LOGGED_STATEMENTS, scope.getStatements().size())));
+        } else if (log.isDebugEnabled()) {
+            log.debug("{} {} ran {} statements in {} ms", request.getMethod(), uri, scope.getCount(), scope.getElapsedMillis());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.bluecyber.MyFolio_BE.jdbc;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the DataSource so every statement passes through {@link StatementListener}.
+ * The proxy unwraps to the pool, so pool metrics keep working.
+ */
+@Component
+public class StatementCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final Duration slowQueryThreshold;
+
+    public StatementCountingDataSourcePostProcessor(@Value("${jdbc.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new StatementListener(slowQueryThreshold))
+                    .build();
+        }
+        return bean;
+    }
+}
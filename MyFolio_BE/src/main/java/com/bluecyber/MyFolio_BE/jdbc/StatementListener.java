@@ -0,0 +1,59 @@
+package com.bluecyber.MyFolio_BE.jdbc;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Counts every executed statement against the open {@link StatementScope} and logs
+ * statements slower than the threshold to the {@code slow-query} logger, one
+ * key=value line each.
+ */
+class StatementListener implements QueryExecutionListener {
+
+    private static final Logger SLOW_QUERIES = LoggerFactory.getLogger("slow-query");
+    private static final int MAX_LOGGED_SQL = 2000;
+
+    private final long slowThresholdMillis;
+
+    StatementListener(Duration slowThreshold) {
+        this.slowThresholdMillis = slowThreshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        StatementScope scope = StatementScope.current();
+        boolean slow = execution.getElapsedTime() >= slowThresholdMillis;
+        if (scope == null && !slow) {
+            return;
+        }
+        String sql = queries.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        if (scope != null) {
+            scope.record(sql, execution.getElapsedTime());
+        }
+        if (slow && SLOW_QUERIES.isWarnEnabled()) {
+            SLOW_QUERIES.warn("slow_query elapsed_ms={} success={} batch={} batch_size={} request=\"{}\" sql=\"{}\"",
+                    execution.getElapsedTime(),
+                    execution.isSuccess(),
+                    execution.isBatch(),
+                    execution.getBatchSize(),
+                    scope != null ? scope.getLabel() : "-",
+                    abbreviate(sql));
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        String line = sql.replaceAll("\\s+", " ").replace("\"", "'");
+        return line.length() > MAX_LOGGED_SQL ? line.substring(0, MAX_LOGGED_SQL) + "..." : line;
+    }
+}
@@ -0,0 +1,74 @@
+package com.bluecyber.MyFolio_BE.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts the JDBC statements executed on the current thread while it is open,
+ * typically for the duration of one HTTP request. A batch counts as one statement,
+ * since it is one round trip. The first statements are kept for diagnostics.
+ */
+public final class StatementScope implements AutoCloseable {
+
+    private static final ThreadLocal<StatementScope> CURRENT = new ThreadLocal<>();
+    private static final int RECORDED_STATEMENTS = 100;
+
+    private final String label;
+    private final StatementScope enclosing;
+    private final List<String> statements = new ArrayList<>();
+    private int count;
+    private long elapsedMillis;
+
+    private StatementScope(String label, StatementScope enclosing) {
+        this.label = label;
+        this.enclosing = enclosing;
+    }
+
+    /**
+     * Opens a scope on the current thread; statements run until it is closed are
+     * counted by it and not by any enclosing scope.
+     */
+    public static StatementScope open(String label) {
+        StatementScope scope = new StatementScope(label, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static StatementScope current() {
+        return CURRENT.get();
+    }
+
+    void record(String sql, long elapsedMillis) {
+        count++;
+        this.elapsedMillis += elapsedMillis;
+        if (statements.size() < RECORDED_STATEMENTS) {
+            statements.add(sql);
+        }
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public List<String> getStatements() {
+        return Collections.unmodifiableList(statements);
+    }
+
+    @Override
+    public void close() {
+        if (enclosing == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(enclosing);
+        }
+    }
+}
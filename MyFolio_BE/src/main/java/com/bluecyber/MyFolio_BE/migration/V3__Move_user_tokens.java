@@ -0,0 +1,59 @@
+package com.bluecyber.MyFolio_BE.migration;
+
+import com.bluecyber.MyFolio_BE.entity.TokenPurpose;
+import com.bluecyber.MyFolio_BE.service.OneTimeTokenService;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Copies still-valid verification and reset tokens from {@code users} into
+ * {@code one_time_tokens}, storing only their hash, so links already sent keep
+ * working. Expired tokens are dropped with their columns in V4.
+ */
+@Component
+public class V3__Move_user_tokens extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        Timestamp now = Timestamp.from(Instant.now());
+        try (PreparedStatement select = connection.prepareStatement("""
+                select id, verification_token, verification_token_expiry, reset_password_token, reset_password_token_expiry
+                from users
+                where verification_token is not null or reset_password_token is not null""");
+             PreparedStatement insert = connection.prepareStatement("""
+                insert into one_time_tokens (token_hash, purpose, user_id, expires_at, created_at)
+                values (?, ?, ?, ?, ?)""");
+             ResultSet rows = select.executeQuery()) {
+            while (rows.next()) {
+                long userId = rows.getLong("id");
+                addIfValid(insert, userId, TokenPurpose.EMAIL_VERIFICATION,
+                        rows.getString("verification_token"), rows.getLong("verification_token_expiry"), now);
+                addIfValid(insert, userId, TokenPurpose.PASSWORD_RESET,
+                        rows.getString("reset_password_token"), rows.getLong("reset_password_token_expiry"), now);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static void addIfValid(PreparedStatement insert, long userId, TokenPurpose purpose,
+                                   String token, long expiresAtMillis, Timestamp now) throws SQLException {
+        if (token == null || expiresAtMillis < now.getTime()) {
+            return;
+        }
+        insert.setString(1, OneTimeTokenService.hashToken(token));
+        insert.setString(2, purpose.name());
+        insert.setLong(3, userId);
+        insert.setTimestamp(4, new Timestamp(expiresAtMillis));
+        insert.setTimestamp(5, now);
+        insert.addBatch();
+    }
+}
@@ -0,0 +1,52 @@
+package com.bluecyber.MyFolio_BE.repository;
+
+import com.bluecyber.MyFolio_BE.entity.ImageBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImageBlobRepository extends JpaRepository<ImageBlob, String> {
+
+    /**
+     * Inserts the blob with one reference, or adds a reference to the existing row.
+     * Blocks while the garbage collector holds the row, so a blob is never
+     * re-acquired halfway through being reclaimed.
+     */
+    @Modifying
+    @Query(value = """
+            insert into image_blobs (hash, extension, size, ref_count, created_at)
+            values (:hash, :extension, :size, 1, :now)
+            on duplicate key update ref_count = ref_count + 1, released_at = null""", nativeQuery = true)
+    void acquire(
+            @Param("hash") String hash,
+            @Param("extension") String extension,
+            @Param("size") long size,
+            @Param("now") Instant now
+    );
+
+    // releasedAt is assigned first: MySQL evaluates assignments left to right
+    @Modifying
+    @Query("""
+            update ImageBlob b
+            set b.releasedAt = case when b.refCount <= 1 then :now else null end,
+                b.refCount = b.refCount - 1
+            where b.hash = :hash and b.refCount > 0""")
+    int release(@Param("hash") String hash, @Param("now") Instant now);
+
+    @Query("select b.hash from ImageBlob b where b.refCount = 0 and b.releasedAt < :cutoff order by b.releasedAt")
+    List<String> findReleasedBefore(@Param("cutoff") Instant cutoff, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from ImageBlob b where b.hash = :hash")
+    Optional<ImageBlob> findForUpdate(@Param("hash") String hash);
+}
@@ -0,0 +1,31 @@
+package com.bluecyber.MyFolio_BE.repository;
+
+import com.bluecyber.MyFolio_BE.entity.OneTimeToken;
+import com.bluecyber.MyFolio_BE.entity.TokenPurpose;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OneTimeTokenRepository extends JpaRepository<OneTimeToken, Long> {
+
+    @Query("select t from OneTimeToken t join fetch t.user where t.tokenHash = :tokenHash and t.purpose = :purpose")
+    Optional<OneTimeToken> findByTokenHashAndPurpose(
+            @Param("tokenHash") String tokenHash,
+            @Param("purpose") TokenPurpose purpose
+    );
+
+    @Modifying
+    @Query("delete from OneTimeToken t where t.user.id = :userId and t.purpose = :purpose")
+    int deleteByUserIdAndPurpose(@Param("userId") Long userId, @Param("purpose") TokenPurpose purpose);
+
+    @Query("select t.id from OneTimeToken t where t.expiresAt < :now order by t.expiresAt")
+    List<Long> findExpiredIds(@Param("now") Instant now, Limit limit);
+}
@@ -0,0 +1,44 @@
+package com.bluecyber.MyFolio_BE.repository;
+
+import com.bluecyber.MyFolio_BE.entity.OutboxEmail;
+import com.bluecyber.MyFolio_BE.entity.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    /**
+     * Locks due emails, including claims whose lease ran out. Rows another worker
+     * has locked are skipped (lock timeout -2 is SKIP LOCKED) rather than waited for.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("""
+            select e from OutboxEmail e
+            where e.status in (com.bluecyber.MyFolio_BE.entity.OutboxStatus.PENDING,
+                               com.bluecyber.MyFolio_BE.entity.OutboxStatus.SENDING)
+              and e.nextAttemptAt <= :now
+            order by e.nextAttemptAt, e.id""")
+    List<OutboxEmail> findDueForUpdate(@Param("now") Instant now, Limit limit);
+
+    @Query("select e.id from OutboxEmail e where e.status = :status and e.createdAt < :cutoff order by e.id")
+    List<Long> findIdsByStatusCreatedBefore(
+            @Param("status") OutboxStatus status,
+            @Param("cutoff") Instant cutoff,
+            Limit limit
+    );
+
+    long countByStatus(OutboxStatus status);
+}
@@ -1,14 +1,96 @@
 package com.bluecyber.MyFolio_BE.repository;
 
+import com.bluecyber.MyFolio_BE.dto.ProjectSummary;
 import com.bluecyber.MyFolio_BE.entity.Project;
-import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.search.IndexedProject;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
-    List<Project> findByUser(User user);
-    List<Project> findByUserId(Long userId);
-} 
\ No newline at end of file
+    @Query("""
+            select new com.bluecyber.MyFolio_BE.dto.ProjectSummary(p.id, p.name, p.demoUrl, p.repositoryUrl, p.description, p.createdAt)
+            from Project p
+            where p.user.id = :userId
+            order by p.createdAt, p.id""")
+    List<ProjectSummary> findSummariesByUserId(@Param("userId") Long userId);
+
+    // Keyset pages: each query seeks past the last row of the previous page
+
+    @Query("""
+            select new com.bluecyber.MyFolio_BE.dto.ProjectSummary(p.id, p.name, p.demoUrl, p.repositoryUrl, p.description, p.createdAt)
+            from Project p
+            where p.user.id = :userId
+            order by p.createdAt desc, p.id desc""")
+    List<ProjectSummary> findNewestSummaries(@Param("userId") Long userId, Limit limit);
+
+    @Query("""
+            select new com.bluecyber.MyFolio_BE.dto.ProjectSummary(p.id, p.name, p.demoUrl, p.repositoryUrl, p.description, p.createdAt)
+            from Project p
+            where p.user.id = :userId
+              and (p.createdAt < :afterCreatedAt or (p.createdAt = :afterCreatedAt and p.id < :afterId))
+            order by p.createdAt desc, p.id desc""")
+    List<ProjectSummary> findNewestSummariesAfter(
+            @Param("userId") Long userId,
+            @Param("afterCreatedAt") Instant afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    @Query("""
+            select new com.bluecyber.MyFolio_BE.dto.ProjectSummary(p.id, p.name, p.demoUrl, p.repositoryUrl, p.description, p.createdAt)
+            from Project p
+            where p.user.id = :userId
+            order by p.name, p.id""")
+    List<ProjectSummary> findSummariesByName(@Param("userId") Long userId, Limit limit);
+
+    @Query("""
+            select new com.bluecyber.MyFolio_BE.dto.ProjectSummary(p.id, p.name, p.demoUrl, p.repositoryUrl, p.description, p.createdAt)
+            from Project p
+            where p.user.id = :userId
+              and (p.name > :afterName or (p.name = :afterName and p.id > :afterId))
+            order by p.name, p.id""")
+    List<ProjectSummary> findSummariesByNameAfter(
+            @Param("userId") Long userId,
+            @Param("afterName") String afterName,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    // Search index documents; only projects of verified users are searchable
+
+    @Query("""
+            select new com.bluecyber.MyFolio_BE.search.IndexedProject(p.id, p.user.id, p.name, p.description)
+            from Project p
+            where p.id = :id and p.user.emailVerified = true""")
+    Optional<IndexedProject> findIndexedById(@Param("id") Long id);
+
+    @Query("""
+            select new com.bluecyber.MyFolio_BE.search.IndexedProject(p.id, p.user.id, p.name, p.description)
+            from Project p
+            where p.id in :ids and p.user.emailVerified = true""")
+    List<IndexedProject> findIndexedByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("""
+            select new com.bluecyber.MyFolio_BE.search.IndexedProject(p.id, p.user.id, p.name, p.description)
+            from Project p
+            where p.user.id = :userId and p.user.emailVerified = true""")
+    List<IndexedProject> findIndexedByUserId(@Param("userId") Long userId);
+
+    /**
+     * One keyset page of the rebuild: the projects of verified users after {@code afterId}.
+     */
+    @Query("""
+            select new com.bluecyber.MyFolio_BE.search.IndexedProject(p.id, p.user.id, p.name, p.description)
+            from Project p
+            where p.user.emailVerified = true and p.id > :afterId
+            order by p.id""")
+    List<IndexedProject> findIndexedAfter(@Param("afterId") long afterId, Limit limit);
+}
@@ -0,0 +1,96 @@
+package com.bluecyber.MyFolio_BE.repository;
+
+import com.bluecyber.MyFolio_BE.dto.ProjectSummary;
+import com.bluecyber.MyFolio_BE.dto.UserProfileResponse;
+import com.bluecyber.MyFolio_BE.dto.UserVersion;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Read-only queries for the public portfolio endpoints over R2DBC. Rows are mapped
+ * straight to the same DTOs the JPA side returns, so both read paths serialize
+ * identically.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactivePortfolioRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<UserProfileResponse> findProfileById(Long userId) {
+        return databaseClient.sql("""
+                        select id, name, email, job_title, bio, profile_image, profile_image_key,
+                               email_verified, version, updated_at
+                        from users where id = :id""")
+                .bind("id", userId)
+                .map(row -> UserProfileResponse.builder()
+                        .id(row.get("id", Long.class))
+                        .name(row.get("name", String.class))
+                        .email(row.get("email", String.class))
+                        .jobTitle(row.get("job_title", String.class))
+                        .bio(row.get("bio", String.class))
+                        .profileImage(row.get("profile_image", String.class))
+                        .profileImageKey(row.get("profile_image_key", String.class))
+                        .emailVerified(Boolean.TRUE.equals(row.get("email_verified", Boolean.class)))
+                        .version(row.get("version", Long.class))
+                        .updatedAt(instant(row, "updated_at"))
+                        .build())
+                .one();
+    }
+
+    public Mono<UserVersion> findVersionById(Long userId) {
+        return databaseClient.sql("select id, version, updated_at from users where id = :id")
+                .bind("id", userId)
+                .map(row -> (UserVersion) new Version(
+                        row.get("id", Long.class), row.get("version", Long.class), instant(row, "updated_at")))
+                .one();
+    }
+
+    public Flux<ProjectSummary> findSummariesByUserId(Long userId) {
+        return databaseClient.sql("""
+                        select id, name, demo_url, repository_url, description, created_at
+                        from projects where user_id = :userId order by created_at, id""")
+                .bind("userId", userId)
+                .map(row -> ProjectSummary.builder()
+                        .id(row.get("id", Long.class))
+                        .name(row.get("name", String.class))
+                        .demoUrl(row.get("demo_url", String.class))
+                        .repositoryUrl(row.get("repository_url", String.class))
+                        .description(row.get("description", String.class))
+                        .createdAt(instant(row, "created_at"))
+                        .build())
+                .all();
+    }
+
+    // Hibernate writes Instants to datetime columns in the JVM's zone
+    private static Instant instant(Readable row, String column) {
+        LocalDateTime value = row.get(column, LocalDateTime.class);
+        return value != null ? value.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+
+    private record Version(Long id, long version, Instant updatedAt) implements UserVersion {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public Instant getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+}
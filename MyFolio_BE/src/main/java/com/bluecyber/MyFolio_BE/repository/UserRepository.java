@@ -1,15 +1,74 @@
 package com.bluecyber.MyFolio_BE.repository;
 
+import com.bluecyber.MyFolio_BE.dto.FeedEntry;
+import com.bluecyber.MyFolio_BE.dto.UserProfileResponse;
+import com.bluecyber.MyFolio_BE.dto.UserVersion;
 import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.search.IndexedUser;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     boolean existsByEmail(String email);
-    Optional<User> findByResetPasswordToken(String token);
-    Optional<User> findByVerificationToken(String token);
-} 
\ No newline at end of file
+
+    @Query("""
+            select u.id from User u
+            where u.emailVerified = false and u.createdAt < :cutoff
+              and not exists (select p.id from Project p where p.user = u)
+            order by u.id""")
+    List<Long> findUnverifiedIdsCreatedBefore(@Param("cutoff") Instant cutoff, Limit limit);
+
+    @Query("select u.profileImageHash from User u where u.id in :ids and u.profileImageHash is not null")
+    List<String> findProfileImageHashesByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("""
+            select new com.bluecyber.MyFolio_BE.dto.UserProfileResponse(
+                u.id, u.name, u.email, u.jobTitle, u.bio, u.profileImage, u.profileImageKey, u.emailVerified, u.version, u.updatedAt)
+            from User u
+            where u.id = :id""")
+    Optional<UserProfileResponse> findProfileById(@Param("id") Long id);
+
+    Optional<UserVersion> findVersionById(Long id);
+
+    @Query("""
+            select new com.bluecyber.MyFolio_BE.search.IndexedUser(u.id, u.name, u.jobTitle, u.bio)
+            from User u
+            where u.id = :id and u.emailVerified = true""")
+    Optional<IndexedUser> findIndexedById(@Param("id") Long id);
+
+    /**
+     * One keyset page of the rebuild: the verified users after {@code afterId}.
+     */
+    @Query("""
+            select new com.bluecyber.MyFolio_BE.search.IndexedUser(u.id, u.name, u.jobTitle, u.bio)
+            from User u
+            where u.emailVerified = true and u.id > :afterId
+            order by u.id""")
+    List<IndexedUser> findIndexedAfter(@Param("afterId") long afterId, Limit limit);
+
+    // The latest project is the most recently changed one, the highest id on a tie
+    String FEED_ENTRY_SELECT = """
+            select new com.bluecyber.MyFolio_BE.dto.FeedEntry(
+                u.id, u.name, u.jobTitle, u.profileImage, u.updatedAt, p.id, p.name)
+            from User u
+            left join u.projects p on p.id = (
+                select max(p2.id) from Project p2
+                where p2.user = u and p2.updatedAt = (select max(p3.updatedAt) from Project p3 where p3.user = u))
+            """;
+
+    @Query(FEED_ENTRY_SELECT + "where u.id = :id and u.emailVerified = true and u.updatedAt is not null")
+    Optional<FeedEntry> findFeedEntryById(@Param("id") Long id);
+
+    @Query(FEED_ENTRY_SELECT + """
+            where u.emailVerified = true and u.updatedAt is not null
+            order by u.updatedAt desc, u.id desc""")
+    List<FeedEntry> findNewestFeedEntries(Limit limit);
+}
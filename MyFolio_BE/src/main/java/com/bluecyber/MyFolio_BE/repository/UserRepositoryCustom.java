@@ -0,0 +1,9 @@
+package com.bluecyber.MyFolio_BE.repository;
+
+import com.bluecyber.MyFolio_BE.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,7 @@
+package com.bluecyber.MyFolio_BE.search;
+
+/**
+ * The searchable fields of a project.
+ */
+public record IndexedProject(Long id, Long userId, String name, String description) {
+}
@@ -0,0 +1,7 @@
+package com.bluecyber.MyFolio_BE.search;
+
+/**
+ * The searchable fields of a user's profile.
+ */
+public record IndexedUser(Long id, String name, String jobTitle, String bio) {
+}
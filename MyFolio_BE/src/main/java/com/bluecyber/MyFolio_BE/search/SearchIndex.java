@@ -0,0 +1,260 @@
+package com.bluecyber.MyFolio_BE.search;
+
+import com.bluecyber.MyFolio_BE.dto.SearchHit;
+import com.bluecyber.MyFolio_BE.dto.SearchPage;
+import com.bluecyber.MyFolio_BE.dto.SearchType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lucene index over project names and descriptions and user names, job titles and
+ * bios. Every write is made visible to searches before it returns. The index is
+ * derived data: it is rebuilt from the database at startup and never committed
+ * in between, so an index directory on disk only moves it off the heap.
+ */
+@Component
+@Slf4j
+public class SearchIndex {
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String USER_ID = "userId";
+    private static final String TEXT = "text";
+    private static final String NAME = "name";
+    private static final String JOB_TITLE = "jobTitle";
+    private static final String DETAIL = "detail";
+
+    private static final int DETAIL_LENGTH = 200;
+
+    // Queries match against one catch-all field, so a multi-term query intersects
+    // one postings list per term rather than one disjunction over every field per
+    // term. Hits on the name, and then the job title, only add to the score.
+    private static final Map<String, Float> MATCH_FIELDS = Map.of(TEXT, 1f);
+    private static final Map<String, Float> BOOST_FIELDS = Map.of(NAME, 2f, JOB_TITLE, 1f);
+
+    // Stemmed, and without stop words: a term in nearly every document ranks nothing
+    // and would make every query score the whole index
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    // Set while rebuilding, when documents are made visible once at the end
+    private volatile boolean rebuilding;
+
+    public SearchIndex(@Value("${search.index.path:}") String path) throws IOException {
+        this.directory = path == null || path.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(path));
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE)
+                .setRAMBufferSizeMB(64)
+                .setCommitOnClose(false);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    public void index(IndexedProject project) {
+        update(new Term(KEY, projectKey(project.id())), toDocument(project));
+        refresh();
+    }
+
+    /**
+     * Indexes several projects and makes them visible together.
+     */
+    public void index(List<IndexedProject> projects) {
+        for (IndexedProject project : projects) {
+            update(new Term(KEY, projectKey(project.id())), toDocument(project));
+        }
+        refresh();
+    }
+
+    public void index(IndexedUser user) {
+        update(new Term(KEY, userKey(user.id())), toDocument(user));
+        refresh();
+    }
+
+    public void deleteProject(Long projectId) {
+        try {
+            writer.deleteDocuments(new Term(KEY, projectKey(projectId)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        refresh();
+    }
+
+    private static Document toDocument(IndexedProject project) {
+        Document document = new Document();
+        document.add(new StringField(KEY, projectKey(project.id()), Field.Store.NO));
+        document.add(new StringField(TYPE, SearchType.PROJECT.name(), Field.Store.YES));
+        document.add(new StoredField(ID, project.id()));
+        document.add(new StoredField(USER_ID, project.userId()));
+        document.add(new TextField(NAME, project.name(), Field.Store.YES));
+        document.add(new TextField(TEXT, project.name(), Field.Store.NO));
+        if (project.description() != null) {
+            document.add(new TextField(TEXT, project.description(), Field.Store.NO));
+            document.add(new StoredField(DETAIL, abbreviate(project.description())));
+        }
+        return document;
+    }
+
+    private static Document toDocument(IndexedUser user) {
+        Document document = new Document();
+        document.add(new StringField(KEY, userKey(user.id()), Field.Store.NO));
+        document.add(new StringField(TYPE, SearchType.USER.name(), Field.Store.YES));
+        document.add(new StoredField(ID, user.id()));
+        document.add(new StoredField(USER_ID, user.id()));
+        document.add(new TextField(NAME, user.name(), Field.Store.YES));
+        document.add(new TextField(TEXT, user.name(), Field.Store.NO));
+        if (user.jobTitle() != null) {
+            document.add(new TextField(JOB_TITLE, user.jobTitle(), Field.Store.NO));
+            document.add(new TextField(TEXT, user.jobTitle(), Field.Store.NO));
+            document.add(new StoredField(DETAIL, user.jobTitle()));
+        }
+        if (user.bio() != null) {
+            document.add(new TextField(TEXT, user.bio(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    /**
+     * Replaces the whole index with the documents {@code loader} adds. Meant for
+     * startup: a write made while the loader runs would expose a partial index.
+     */
+    public synchronized void rebuild(Runnable loader) {
+        rebuilding = true;
+        try {
+            writer.deleteAll();
+            loader.run();
+            // Merge now, before traffic, rather than under the first queries
+            writer.forceMerge(1);
+            searcherManager.maybeRefreshBlocking();
+            log.info("Search index rebuilt with {} documents", writer.getDocStats().numDocs);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    /**
+     * Relevance-ranked matches for a query in Lucene's simple query syntax: all
+     * terms must match (in any field), {@code "quoted phrases"}, {@code prefix*}
+     * and {@code -excluded} terms are supported, and nothing in it is an error.
+     */
+    public SearchPage search(String text, SearchType type, int offset, int size) {
+        SimpleQueryParser matchParser = new SimpleQueryParser(analyzer, MATCH_FIELDS);
+        matchParser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query match = matchParser.parse(text);
+        if (match == null) {
+            return SearchPage.builder().items(List.of()).build();
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(match, BooleanClause.Occur.MUST);
+        Query boost = new SimpleQueryParser(analyzer, BOOST_FIELDS).parse(text);
+        if (boost != null) {
+            query.add(boost, BooleanClause.Occur.SHOULD);
+        }
+        if (type != null) {
+            query.add(new TermQuery(new Term(TYPE, type.name())), BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query.build(), offset + size);
+                List<SearchHit> items = new ArrayList<>();
+                ScoreDoc[] docs = top.scoreDocs;
+                for (int i = offset; i < docs.length; i++) {
+                    items.add(toHit(searcher.storedFields().document(docs[i].doc), docs[i].score));
+                }
+                return SearchPage.builder()
+                        .items(items)
+                        .total(top.totalHits.value)
+                        .hasMore(top.totalHits.value > offset + size)
+                        .build();
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void update(Term key, Document document) {
+        try {
+            writer.updateDocument(key, document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void refresh() {
+        if (rebuilding) {
+            return;
+        }
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static SearchHit toHit(Document document, float score) {
+        return SearchHit.builder()
+                .type(SearchType.valueOf(document.get(TYPE)))
+                .id(document.getField(ID).numericValue().longValue())
+                .userId(document.getField(USER_ID).numericValue().longValue())
+                .name(document.get(NAME))
+                .detail(document.get(DETAIL))
+                .score(score)
+                .build();
+    }
+
+    private static String projectKey(Long id) {
+        return "project:" + id;
+    }
+
+    private static String userKey(Long id) {
+        return "user:" + id;
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() > DETAIL_LENGTH ? text.substring(0, DETAIL_LENGTH) + "..." : text;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+}
@@ -0,0 +1,25 @@
+package com.bluecyber.MyFolio_BE.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.security.Principal;
+import java.util.Collection;
+
+/**
+ * Authenticated principal built straight from verified JWT claims, so the
+ * request does not need to load the {@code User} row to know who is calling.
+ */
+@Getter
+@RequiredArgsConstructor
+public class JwtPrincipal implements Principal {
+    private final Long id;
+    private final String email;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,55 @@
+package com.bluecyber.MyFolio_BE.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-route request rate policies. A request is counted against the first policy
+ * whose paths match it.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Buckets not touched for this long are dropped. Never shorter than the longest
+     * policy period, by which time a dropped bucket would have been full anyway.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(15);
+
+    private long maxBuckets = 100_000;
+
+    private List<Policy> policies = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        private String name;
+
+        private List<String> paths = new ArrayList<>();
+
+        private Key key = Key.IP;
+
+        /** Requests allowed in a burst. */
+        private int capacity;
+
+        /** Time to refill the whole capacity. */
+        private Duration period;
+    }
+
+    public enum Key {
+        /** The client address. */
+        IP,
+        /** The authenticated user, or the client address for anonymous requests. */
+        USER
+    }
+}
@@ -0,0 +1,116 @@
+package com.bluecyber.MyFolio_BE.security;
+
+import com.bluecyber.MyFolio_BE.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory per-client rate limits. Each policy keeps one {@link TokenBucket} per
+ * client address or user; buckets live in a bounded Caffeine cache and are dropped
+ * once idle. The hot path is a cache hit plus one compare-and-set, with no lock
+ * shared between clients. Limits are per instance.
+ */
+@Component
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final List<Route> routes;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.routes = properties.getPolicies().stream()
+                .map(policy -> new Route(
+                        policy,
+                        policy.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList(),
+                        policy.getPeriod().toNanos() / policy.getCapacity(),
+                        Counter.builder("rate.limit.rejected")
+                                .description("Requests refused with 429 by a rate limit policy")
+                                .tag("policy", policy.getName())
+                                .register(meterRegistry)))
+                .toList();
+
+        Duration idleTimeout = properties.getIdleTimeout();
+        for (RateLimitProperties.Policy policy : properties.getPolicies()) {
+            if (policy.getPeriod().compareTo(idleTimeout) > 0) {
+                idleTimeout = policy.getPeriod();
+            }
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(idleTimeout)
+                .build();
+        Gauge.builder("rate.limit.buckets", buckets, Cache::estimatedSize)
+                .description("Clients currently tracked by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts the request against the first matching policy.
+     *
+     * @throws TooManyRequestsException if the client has used up its allowance
+     */
+    public void acquire(HttpServletRequest request) {
+        if (!enabled) {
+            return;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Route route : routes) {
+            if (route.matches(path)) {
+                acquire(route, request);
+                return;
+            }
+        }
+    }
+
+    private void acquire(Route route, HttpServletRequest request) {
+        String key = route.policy().getName() + "|" + clientKey(route.policy().getKey(), request);
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(route.policy().getCapacity(), route.interval(), now));
+        long wait = bucket.tryAcquire(now);
+        if (wait > 0) {
+            route.rejected().increment();
+            throw new TooManyRequestsException(
+                    "Too many requests, please try again later",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    private static String clientKey(RateLimitProperties.Key key, HttpServletRequest request) {
+        if (key == RateLimitProperties.Key.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "user:" + authentication.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record Route(RateLimitProperties.Policy policy, List<PathPattern> patterns, long interval, Counter rejected) {
+
+        boolean matches(PathContainer path) {
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.bluecyber.MyFolio_BE.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding up to {@code capacity} tokens and refilling one
+ * every {@code interval} nanoseconds. The whole state is one timestamp, the moment
+ * the bucket would be full again, so taking a token is a single compare-and-set.
+ */
+final class TokenBucket {
+
+    private final long interval;
+    private final long burst;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, long intervalNanos, long now) {
+        this.interval = intervalNanos;
+        this.burst = capacity * intervalNanos;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
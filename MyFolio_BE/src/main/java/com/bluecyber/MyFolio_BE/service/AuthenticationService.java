@@ -3,7 +3,9 @@ package com.bluecyber.MyFolio_BE.service;
 import com.bluecyber.MyFolio_BE.dto.AuthenticationRequest;
 import com.bluecyber.MyFolio_BE.dto.AuthenticationResponse;
 import com.bluecyber.MyFolio_BE.dto.RegisterRequest;
+import com.bluecyber.MyFolio_BE.entity.TokenPurpose;
 import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.event.EmailVerifiedEvent;
 import com.bluecyber.MyFolio_BE.exception.EmailAlreadyExistsException;
 import com.bluecyber.MyFolio_BE.exception.InvalidTokenException;
 import com.bluecyber.MyFolio_BE.exception.ResourceNotFoundException;
@@ -11,10 +13,12 @@ import com.bluecyber.MyFolio_BE.repository.UserRepository;
 import com.bluecyber.MyFolio_BE.security.JwtService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -25,7 +29,10 @@ public class AuthenticationService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
+    private final OneTimeTokenService tokenService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public AuthenticationResponse register(RegisterRequest request) {
         if (repository.existsByEmail(request.getEmail())) {
             throw new EmailAlreadyExistsException("Email already exists");
@@ -41,8 +48,8 @@ public class AuthenticationService {
         // Save user first to get the ID
         repository.save(user);
         
-        // Send verification email - this must succeed for registration to complete
-        emailService.sendVerificationEmail(user);
+        // Queued in the same transaction; delivered by the outbox worker after commit
+        emailService.queueVerificationEmail(user);
         
         // Return response without token since email is not verified yet
         return AuthenticationResponse.builder()
@@ -50,18 +57,12 @@ public class AuthenticationService {
                 .build();
     }
 
+    @Transactional
     public void verifyEmail(String token) {
-        User user = repository.findByVerificationToken(token)
-                .orElseThrow(() -> new InvalidTokenException("Invalid or expired verification token"));
-
-        if (user.getVerificationTokenExpiry() < System.currentTimeMillis()) {
-            throw new InvalidTokenException("Verification token has expired");
-        }
-
+        User user = tokenService.redeem(token, TokenPurpose.EMAIL_VERIFICATION);
         user.setEmailVerified(true);
-        user.setVerificationToken(null);
-        user.setVerificationTokenExpiry(null);
         repository.save(user);
+        eventPublisher.publishEvent(new EmailVerifiedEvent(user.getId()));
     }
 
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
@@ -84,35 +85,21 @@ public class AuthenticationService {
                 .build();
     }
 
+    @Transactional
     public void initiatePasswordReset(String email) {
-        try {
-            var user = repository.findByEmail(email)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
-            
-            try {
-                emailService.sendPasswordResetEmail(user);
-            } catch (Exception e) {
-                log.error("Failed to send password reset email to {}: {}", email, e.getMessage());
-                throw new RuntimeException("Failed to send password reset email. Please check your email configuration.", e);
-            }
-        } catch (ResourceNotFoundException e) {
-            // Log the error but return success to prevent email enumeration
+        var user = repository.findByEmail(email);
+        if (user.isEmpty()) {
+            // Return normally to prevent email enumeration attacks
             log.warn("Password reset requested for non-existent email: {}", email);
-            // We still return normally to prevent email enumeration attacks
+            return;
         }
+        emailService.queuePasswordResetEmail(user.get());
     }
 
+    @Transactional
     public void resetPassword(String token, String newPassword) {
-        User user = repository.findByResetPasswordToken(token)
-                .orElseThrow(() -> new InvalidTokenException("Invalid or expired token"));
-
-        if (user.getResetPasswordTokenExpiry() < System.currentTimeMillis()) {
-            throw new InvalidTokenException("Token has expired");
-        }
-
+        User user = tokenService.redeem(token, TokenPurpose.PASSWORD_RESET);
         user.setPassword(passwordEncoder.encode(newPassword));
-        user.setResetPasswordToken(null);
-        user.setResetPasswordTokenExpiry(null);
         repository.save(user);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,233 @@
+package com.bluecyber.MyFolio_BE.service;
+
+import com.bluecyber.MyFolio_BE.entity.OutboxEmail;
+import com.bluecyber.MyFolio_BE.entity.OutboxStatus;
+import com.bluecyber.MyFolio_BE.repository.OutboxEmailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the email outbox. Each batch goes out over a single SMTP connection;
+ * failed messages are retried with exponential backoff and parked as
+ * {@link OutboxStatus#DEAD} after the last attempt. A batch is first claimed as
+ * {@link OutboxStatus#SENDING} for the lease, so instances polling the same outbox
+ * never send the same email; an instance that dies mid-batch leaves its claims to
+ * be picked up again once the lease runs out.
+ */
+@Service
+@Slf4j
+public class EmailOutboxWorker {
+
+    private final OutboxEmailRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final String fromEmail;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration sentRetention;
+    private final Duration lease;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter dead;
+    private final Timer batchTimer;
+    private final Timer deliveryLatency;
+    private final AtomicLong pending = new AtomicLong();
+
+    public EmailOutboxWorker(
+            OutboxEmailRepository outboxRepository,
+            JavaMailSender mailSender,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${spring.mail.username}") String fromEmail,
+            @Value("${email.outbox.batch-size:50}") int batchSize,
+            @Value("${email.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${email.outbox.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${email.outbox.max-backoff:1h}") Duration maxBackoff,
+            @Value("${email.outbox.sent-retention:7d}") Duration sentRetention,
+            @Value("${email.outbox.lease:10m}") Duration lease
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.fromEmail = fromEmail;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.sentRetention = sentRetention;
+        this.lease = lease;
+        this.sent = meterRegistry.counter("email.outbox.delivered", "result", "sent");
+        this.failed = meterRegistry.counter("email.outbox.delivered", "result", "retry");
+        this.dead = meterRegistry.counter("email.outbox.delivered", "result", "dead");
+        this.batchTimer = meterRegistry.timer("email.outbox.batch");
+        this.deliveryLatency = Timer.builder("email.outbox.latency")
+                .description("Time from queueing an email to handing it to the SMTP server")
+                .register(meterRegistry);
+        meterRegistry.gauge("email.outbox.pending", pending);
+    }
+
+    @Scheduled(initialDelayString = "${email.outbox.poll-interval:5s}", fixedDelayString = "${email.outbox.poll-interval:5s}")
+    public void poll() {
+        int delivered;
+        do {
+            delivered = drainBatch();
+        } while (delivered == batchSize);
+        pending.set(outboxRepository.countByStatus(OutboxStatus.PENDING));
+    }
+
+    /**
+     * Sends one batch of due emails and records the outcome of each.
+     *
+     * @return the number of emails attempted
+     */
+    public int drainBatch() {
+        List<OutboxEmail> batch = claim();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<OutboxEmail, Exception> failures = batchTimer.record(() -> send(batch));
+
+        Instant now = Instant.now();
+        for (OutboxEmail email : batch) {
+            Exception failure = failures.get(email);
+            if (failure == null) {
+                email.setStatus(OutboxStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                sent.increment();
+                if (email.getCreatedAt() != null) {
+                    deliveryLatency.record(Duration.between(email.getCreatedAt(), now));
+                }
+            } else {
+                recordFailure(email, failure, now);
+            }
+        }
+        // The claim is not re-checked: the lease is far longer than a batch takes to send
+        transactionTemplate.executeWithoutResult(status -> {
+            // Load the rows in one query so the merges below don't select them one by one
+            outboxRepository.findAllById(batch.stream().map(OutboxEmail::getId).toList());
+            outboxRepository.saveAll(batch);
+        });
+        return batch.size();
+    }
+
+    /**
+     * Marks a batch of due emails as {@link OutboxStatus#SENDING} until the lease
+     * ends. The transaction only covers the claim, not the SMTP conversation.
+     */
+    private List<OutboxEmail> claim() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxEmail> due = outboxRepository.findDueForUpdate(now, Limit.of(batchSize));
+            for (OutboxEmail email : due) {
+                email.setStatus(OutboxStatus.SENDING);
+                email.setNextAttemptAt(now.plus(lease));
+            }
+            return due;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.purge-interval:1h}", initialDelayString = "${email.outbox.purge-interval:1h}")
+    public void purgeSent() {
+        Instant cutoff = Instant.now().minus(sentRetention);
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = outboxRepository.findIdsByStatusCreatedBefore(OutboxStatus.SENT, cutoff, Limit.of(batchSize));
+                if (!ids.isEmpty()) {
+                    outboxRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            });
+        } while (deleted == batchSize);
+    }
+
+    private Map<OutboxEmail, Exception> send(List<OutboxEmail> batch) {
+        Map<OutboxEmail, Exception> failures = new IdentityHashMap<>();
+        Map<MimeMessage, OutboxEmail> byMessage = new IdentityHashMap<>();
+        for (OutboxEmail email : batch) {
+            try {
+                byMessage.put(toMessage(email), email);
+            } catch (MessagingException e) {
+                failures.put(email, e);
+            }
+        }
+        if (byMessage.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            // One transport connection for the whole batch
+            mailSender.send(byMessage.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                byMessage.values().forEach(email -> failures.put(email, e));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> failures.put(byMessage.get(message), cause));
+            }
+        } catch (MailException e) {
+            byMessage.values().forEach(email -> failures.put(email, e));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMessage(OutboxEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+        return message;
+    }
+
+    private void recordFailure(OutboxEmail email, Exception failure, Instant now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(truncate(String.valueOf(failure.getMessage())));
+        if (attempts >= maxAttempts) {
+            email.setStatus(OutboxStatus.DEAD);
+            dead.increment();
+            log.error("Giving up on email {} to {} after {} attempts: {}",
+                    email.getId(), email.getRecipient(), attempts, failure.getMessage());
+        } else {
+            email.setStatus(OutboxStatus.PENDING);
+            email.setNextAttemptAt(now.plus(backoff(attempts)));
+            failed.increment();
+            log.warn("Email {} to {} failed (attempt {}), retrying at {}: {}",
+                    email.getId(), email.getRecipient(), attempts, email.getNextAttemptAt(), failure.getMessage());
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
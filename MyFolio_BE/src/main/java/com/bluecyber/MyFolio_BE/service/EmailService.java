@@ -1,132 +1,129 @@
 package com.bluecyber.MyFolio_BE.service;
 
+import com.bluecyber.MyFolio_BE.entity.OutboxEmail;
+import com.bluecyber.MyFolio_BE.entity.OutboxStatus;
+import com.bluecyber.MyFolio_BE.entity.TokenPurpose;
 import com.bluecyber.MyFolio_BE.entity.User;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.bluecyber.MyFolio_BE.repository.OutboxEmailRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.UUID;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Composes transactional emails and writes them to the outbox. Nothing is sent
+ * here; {@link EmailOutboxWorker} delivers the outbox once the caller commits.
+ */
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
-    private final UserService userService;
+    private final OutboxEmailRepository outboxRepository;
+    private final OneTimeTokenService tokenService;
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    @Value("${tokens.verification-ttl:1h}")
+    private Duration verificationTtl;
 
-    @Async
-    public void sendVerificationEmail(User user) {
-        try {
-            String token = UUID.randomUUID().toString();
-            String verificationLink = "http://66.42.51.94:8080/api/auth/verify?token=" + token;
+    @Value("${tokens.password-reset-ttl:1h}")
+    private Duration passwordResetTtl;
 
-            // Save the token first
-            user.setVerificationToken(token);
-            user.setVerificationTokenExpiry(System.currentTimeMillis() + 3600000); // 1 hour
-            userService.saveUser(user);
+    @Transactional
+    public void queueVerificationEmail(User user) {
+        String token = tokenService.issue(user, TokenPurpose.EMAIL_VERIFICATION, verificationTtl);
+        String verificationLink = "http://66.42.51.94:8080/api/auth/verify?token=" + token;
 
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-
-            helper.setFrom(fromEmail);
-            helper.setTo(user.getEmail());
-            helper.setSubject("Verify your email");
-            helper.setText(
-                    "<html><body>" +
-                            "<h2>Hello " + user.getName() + ",</h2>" +
-                            "<p>Please click the link below to verify your email address:</p>" +
-                            "<a href='" + verificationLink + "'>Verify Email</a>" +
-                            "<p>This link will expire in 1 hour.</p>" +
-                            "</body></html>",
-                    true
-            );
-
-            mailSender.send(message);
-        } catch (MessagingException e) {
-            throw new RuntimeException("Failed to send verification email", e);
-        }
+        enqueue(user.getEmail(), "Verify your email",
+                "<html><body>" +
+                        "<h2>Hello " + user.getName() + ",</h2>" +
+                        "<p>Please click the link below to verify your email address:</p>" +
+                        "<a href='" + verificationLink + "'>Verify Email</a>" +
+                        "<p>This link will expire in " + describe(verificationTtl) + ".</p>" +
+                        "</body></html>");
     }
 
-    @Async
-    public void sendPasswordResetEmail(User user) {
-        try {
-            String token = UUID.randomUUID().toString();
-            String resetLink = "http://66.42.51.94/reset-password?token=" + token;
-
-            // Save the token first
-            user.setResetPasswordToken(token);
-            user.setResetPasswordTokenExpiry(System.currentTimeMillis() + 3600000); // 1 hour
-            userService.saveUser(user);
-
-            log.info("Creating password reset email for user: {}", user.getEmail());
-
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(user.getEmail());
-            helper.setSubject("Reset your password");
-            
-            // Improved HTML template with inline styles and proper button link
-            String emailContent = String.format("""
-                <html>
-                <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333;">
-                    <div style="max-width: 600px; margin: 0 auto; padding: 20px;">
-                        <h2 style="color: #2d3748;">Hello %s,</h2>
-                        <p>Please click the button below to reset your password:</p>
-                        <div style="text-align: center; margin: 30px 0;">
-                            <table cellspacing="0" cellpadding="0" style="margin: 0 auto;">
-                                <tr>
-                                    <td style="border-radius: 4px; background-color: #6366F1;">
-                                        <a href="%s" 
-                                           target="_blank"
-                                           style="padding: 12px 24px;
-                                                  color: #ffffff;
-                                                  text-decoration: none;
-                                                  display: inline-block;
-                                                  font-weight: bold;
-                                                  font-size: 16px;">
-                                            Reset Password
-                                        </a>
-                                    </td>
-                                </tr>
-                            </table>
-                        </div>
-                        <p style="color: #666;">This link will expire in 1 hour.</p>
-                        <p style="color: #666;">If you did not request this password reset, please ignore this email.</p>
-                        <hr style="border: none; border-top: 1px solid #eee; margin: 30px 0;">
-                        <p style="font-size: 12px; color: #999;">
-                            This is an automated email, please do not reply.
-                        </p>
+    @Transactional
+    public void queuePasswordResetEmail(User user) {
+        String token = tokenService.issue(user, TokenPurpose.PASSWORD_RESET, passwordResetTtl);
+        String resetLink = "http://66.42.51.94/reset-password?token=" + token;
+
+        log.info("Queueing password reset email for user: {}", user.getEmail());
+
+        // Improved HTML template with inline styles and proper button link
+        String emailContent = String.format("""
+            <html>
+            <body style="font-family: Arial, sans-serif; line-height: 1.6; color: #333;">
+                <div style="max-width: 600px; margin: 0 auto; padding: 20px;">
+                    <h2 style="color: #2d3748;">Hello %s,</h2>
+                    <p>Please click the button below to reset your password:</p>
+                    <div style="text-align: center; margin: 30px 0;">
+                        <table cellspacing="0" cellpadding="0" style="margin: 0 auto;">
+                            <tr>
+                                <td style="border-radius: 4px; background-color: #6366F1;">
+                                    <a href="%s" 
+                                       target="_blank"
+                                       style="padding: 12px 24px;
+                                              color: #ffffff;
+                                              text-decoration: none;
+                                              display: inline-block;
+                                              font-weight: bold;
+                                              font-size: 16px;">
+                                        Reset Password
+                                    </a>
+                                </td>
+                            </tr>
+                        </table>
                     </div>
-                </body>
-                </html>
-                """, user.getName(), resetLink);
+                    <p style="color: #666;">This link will expire in %s.</p>
+                    <p style="color: #666;">If you did not request this password reset, please ignore this email.</p>
+                    <hr style="border: none; border-top: 1px solid #eee; margin: 30px 0;">
+                    <p style="font-size: 12px; color: #999;">
+                        This is an automated email, please do not reply.
+                    </p>
+                </div>
+            </body>
+            </html>
+            """, user.getName(), resetLink, describe(passwordResetTtl));
+
+        enqueue(user.getEmail(), "Reset your password", emailContent);
+    }
 
-            helper.setText(emailContent, true);
+    /**
+     * A token lifetime in words, e.g. "1 hour" or "1 day 12 hours".
+     */
+    static String describe(Duration ttl) {
+        List<String> parts = new ArrayList<>();
+        addPart(parts, ttl.toDaysPart(), "day");
+        addPart(parts, ttl.toHoursPart(), "hour");
+        addPart(parts, ttl.toMinutesPart(), "minute");
+        if (parts.isEmpty()) {
+            addPart(parts, Math.max(ttl.toSecondsPart(), 1), "second");
+        }
+        return String.join(" ", parts);
+    }
 
-            log.info("Attempting to send password reset email to: {}", user.getEmail());
-            mailSender.send(message);
-            log.info("Password reset email sent successfully to: {}", user.getEmail());
-        } catch (MessagingException e) {
-            log.error("Failed to send password reset email to {}: {}", user.getEmail(), e.getMessage());
-            log.error("Stack trace:", e);
-            throw new RuntimeException("Failed to send password reset email. Please check your email configuration.", e);
-        } catch (Exception e) {
-            log.error("Unexpected error while sending password reset email to {}: {}", user.getEmail(), e.getMessage());
-            log.error("Stack trace:", e);
-            throw new RuntimeException("An unexpected error occurred while processing your request", e);
+    private static void addPart(List<String> parts, long amount, String unit) {
+        if (amount > 0) {
+            parts.add(amount + " " + unit + (amount == 1 ? "" : "s"));
         }
     }
-} 
\ No newline at end of file
+
+    private void enqueue(String recipient, String subject, String body) {
+        Instant now = Instant.now();
+        outboxRepository.save(OutboxEmail.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .status(OutboxStatus.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+}
@@ -0,0 +1,88 @@
+package com.bluecyber.MyFolio_BE.service;
+
+import com.bluecyber.MyFolio_BE.dto.FeedPage;
+import com.bluecyber.MyFolio_BE.event.EmailVerifiedEvent;
+import com.bluecyber.MyFolio_BE.event.ProfileChangedEvent;
+import com.bluecyber.MyFolio_BE.event.ProjectChangedEvent;
+import com.bluecyber.MyFolio_BE.event.ProjectsImportedEvent;
+import com.bluecyber.MyFolio_BE.feed.PortfolioFeed;
+import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Serves the public feed of recently updated portfolios from the in-memory
+ * {@link PortfolioFeed}. At startup it loads the newest {@code feed.max-size}
+ * verified portfolios with one query. After each committed profile, project,
+ * import or email verification it re-reads only that user's entry and moves it
+ * to the front. A user who is no longer listable (unverified or deleted) is
+ * dropped, and an event older than the entry already held is ignored.
+ */
+@Service
+@Slf4j
+public class FeedService implements SmartInitializingSingleton {
+
+    private final PortfolioFeed feed;
+    private final UserRepository userRepository;
+    private final int maxPageSize;
+
+    public FeedService(
+            PortfolioFeed feed,
+            UserRepository userRepository,
+            @Value("${feed.page.max-size:50}") int maxPageSize
+    ) {
+        this.feed = feed;
+        this.userRepository = userRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public FeedPage getFeed(String cursor, int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                String.format("Page size must be between 1 and %d", maxPageSize));
+        }
+        return feed.page(cursor, size);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        var entries = userRepository.findNewestFeedEntries(Limit.of(feed.capacity()));
+        feed.replaceAll(entries);
+        log.info("Portfolio feed rebuilt with {} entries", entries.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        refresh(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmailVerified(EmailVerifiedEvent event) {
+        refresh(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        refresh(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectsImported(ProjectsImportedEvent event) {
+        refresh(event.userId());
+    }
+
+    private void refresh(Long userId) {
+        userRepository.findFeedEntryById(userId)
+                .ifPresentOrElse(feed::put, () -> feed.remove(userId));
+    }
+}
@@ -0,0 +1,254 @@
+package com.bluecyber.MyFolio_BE.service;
+
+import com.bluecyber.MyFolio_BE.dto.ProfileImageVariants;
+import com.bluecyber.MyFolio_BE.entity.ImageBlob;
+import com.bluecyber.MyFolio_BE.repository.ImageBlobRepository;
+import com.bluecyber.MyFolio_BE.storage.BlobStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed storage for profile images on top of a {@link BlobStorage}.
+ * Identical uploads share one object, and each user holding an image counts as one
+ * reference in {@link ImageBlob}.
+ * Nothing is deleted when a reference is dropped; a background collector reclaims
+ * blobs that stayed unreferenced past the grace period, along with files that never
+ * got a row (e.g. an upload whose transaction rolled back) and stale staging files.
+ * Staging always happens on local disk, whatever the storage.
+ */
+@Service
+@Slf4j
+public class ImageBlobStore {
+
+    private static final String INCOMING = "incoming";
+
+    private final ImageBlobRepository blobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobStorage storage;
+    private final Path incoming;
+    private final Duration gracePeriod;
+    private final int chunkSize;
+    private final Counter reclaimedBlobs;
+    private final Counter reclaimedOrphans;
+
+    public ImageBlobStore(
+            ImageBlobRepository blobRepository,
+            TransactionTemplate transactionTemplate,
+            BlobStorage storage,
+            MeterRegistry meterRegistry,
+            @Value("${profile-images.directory:uploads/profile-images}") String directory,
+            @Value("${profile-images.gc.grace-period:1h}") Duration gracePeriod,
+            @Value("${profile-images.gc.chunk-size:100}") int chunkSize
+    ) {
+        this.blobRepository = blobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.storage = storage;
+        this.incoming = Paths.get(directory, INCOMING);
+        this.gracePeriod = gracePeriod;
+        this.chunkSize = chunkSize;
+        this.reclaimedBlobs = meterRegistry.counter("profile.images.gc", "kind", "released_blob");
+        this.reclaimedOrphans = meterRegistry.counter("profile.images.gc", "kind", "orphan_file");
+    }
+
+    public BlobStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Where uploads and intermediate files are written before they are moved into
+     * place. Files left here by a crash are removed by the collector.
+     */
+    public Path getIncomingDirectory() throws IOException {
+        return Files.createDirectories(incoming);
+    }
+
+    /**
+     * Adds a reference to the blob with the given hash, storing the staged file if
+     * the content is new and discarding it otherwise. Must run inside the
+     * transaction that records the reference.
+     *
+     * @return the blob's name in the storage
+     */
+    public String put(Path staged, String hash, String extension, long size) throws IOException {
+        // Acquire first: a concurrent collection of the same hash has then either
+        // finished deleting its files or not started
+        blobRepository.acquire(hash, extension, size, Instant.now());
+        String name = ProfileImageVariants.originalName(hash, extension);
+        if (storage.exists(name)) {
+            Files.deleteIfExists(staged);
+        } else {
+            storage.put(name, staged, contentType(extension));
+        }
+        return name;
+    }
+
+    /**
+     * Drops a reference. Must run inside the transaction that removes it.
+     */
+    public void release(String hash) {
+        if (hash != null) {
+            blobRepository.release(hash, Instant.now());
+        }
+    }
+
+    /**
+     * Deletes an image stored before content addressing, which nothing else shares.
+     */
+    public void deleteLegacy(String profileImage, String imageKey) throws IOException {
+        if (profileImage != null && !profileImage.contains("/")) {
+            storage.delete(profileImage);
+        }
+        if (imageKey != null) {
+            for (int width : ProfileImageVariants.WIDTHS) {
+                storage.delete(ProfileImageVariants.fileName(imageKey, width));
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${profile-images.gc.interval:1h}", fixedDelayString = "${profile-images.gc.interval:1h}")
+    public void collectGarbage() {
+        collectGarbage(Instant.now().minus(gracePeriod));
+    }
+
+    /**
+     * Reclaims blobs released before the cutoff, then files older than the cutoff
+     * that no blob accounts for. The storage and the local staging directory are
+     * swept independently, so an unreachable bucket does not stop staged uploads
+     * from being cleaned up.
+     */
+    public void collectGarbage(Instant cutoff) {
+        int blobs = reclaimReleased(cutoff);
+        int orphans = 0;
+        try {
+            orphans += deleteOrphans(cutoff);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not scan for orphaned images: {}", e.getMessage());
+        }
+        try {
+            orphans += deleteStaleIncoming(cutoff);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not scan for stale uploads: {}", e.getMessage());
+        }
+        if (blobs > 0 || orphans > 0) {
+            log.info("Reclaimed {} unreferenced images and {} orphaned files", blobs, orphans);
+        }
+    }
+
+    private int reclaimReleased(Instant cutoff) {
+        int total = 0;
+        List<String> hashes;
+        int reclaimed;
+        do {
+            hashes = blobRepository.findReleasedBefore(cutoff, Limit.of(chunkSize));
+            reclaimed = 0;
+            for (String hash : hashes) {
+                if (reclaim(hash, cutoff)) {
+                    reclaimed++;
+                    reclaimedBlobs.increment();
+                }
+            }
+            total += reclaimed;
+            // Stop rather than spin when a whole chunk could not be reclaimed
+        } while (hashes.size() == chunkSize && reclaimed > 0);
+        return total;
+    }
+
+    /**
+     * Deletes the blob's files and row under a row lock, giving up if it has been
+     * referenced again in the meantime.
+     */
+    private boolean reclaim(String hash, Instant cutoff) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                ImageBlob blob = blobRepository.findForUpdate(hash).orElse(null);
+                if (blob == null || blob.getRefCount() > 0
+                        || blob.getReleasedAt() == null || !blob.getReleasedAt().isBefore(cutoff)) {
+                    return false;
+                }
+                try {
+                    deleteFiles(hash, blob.getExtension());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                blobRepository.delete(blob);
+                return true;
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Could not reclaim image {}: {}", hash, e.getMessage());
+            return false;
+        }
+    }
+
+    private void deleteFiles(String hash, String extension) throws IOException {
+        storage.delete(ProfileImageVariants.originalName(hash, extension));
+        for (int width : ProfileImageVariants.WIDTHS) {
+            storage.delete(ProfileImageVariants.fileName(hash, width));
+        }
+    }
+
+    private int deleteOrphans(Instant cutoff) throws IOException {
+        int deleted = 0;
+        // Sharded blobs are exactly three levels down; legacy files sit at the top
+        // level and are left alone
+        try (Stream<BlobStorage.StoredObject> objects = storage.list()) {
+            for (BlobStorage.StoredObject object : (Iterable<BlobStorage.StoredObject>) objects::iterator) {
+                String[] segments = object.name().split("/");
+                if (segments.length == 3 && object.lastModified().isBefore(cutoff)
+                        && !blobRepository.existsById(hashOf(segments[2]))) {
+                    storage.delete(object.name());
+                    deleted++;
+                    reclaimedOrphans.increment();
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private int deleteStaleIncoming(Instant cutoff) throws IOException {
+        if (!Files.isDirectory(incoming)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (Stream<Path> files = Files.list(incoming)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                    deleted++;
+                    reclaimedOrphans.increment();
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private static String contentType(String extension) {
+        return switch (extension) {
+            case ".png" -> "image/png";
+            case ".gif" -> "image/gif";
+            default -> "image/jpeg";
+        };
+    }
+
+    private static String hashOf(String name) {
+        int end = name.indexOf('-');
+        if (end < 0) {
+            end = name.indexOf('.');
+        }
+        return end < 0 ? name : name.substring(0, end);
+    }
+}
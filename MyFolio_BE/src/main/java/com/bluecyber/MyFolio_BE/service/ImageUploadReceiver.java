@@ -0,0 +1,187 @@
+package com.bluecyber.MyFolio_BE.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams an image request body straight into the upload directory. The size limit
+ * and the format check (by magic bytes, not by the declared type) are enforced while
+ * reading, so oversized or disguised uploads are cut off early. The SHA-256 of the
+ * content is computed on the way through, and the file only appears under its final
+ * name once complete. Upload sizes and receive times are recorded as
+ * {@code profile.images.upload.*}.
+ */
+@Component
+public class ImageUploadReceiver {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SNIFF_LENGTH = 8;
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary uploadedBytes;
+
+    public ImageUploadReceiver(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.uploadedBytes = DistributionSummary.builder("profile.images.upload.size")
+                .description("Size of accepted profile image uploads")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public record StoredUpload(Path path, String fileName, long size, byte[] sha256) {
+    }
+
+    enum ImageFormat {
+        JPEG(".jpg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+        PNG(".png", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+        GIF87(".gif", "GIF87a".getBytes(StandardCharsets.US_ASCII)),
+        GIF89(".gif", "GIF89a".getBytes(StandardCharsets.US_ASCII));
+
+        private final String extension;
+        private final byte[] magic;
+
+        ImageFormat(String extension, byte[] magic) {
+            this.extension = extension;
+            this.magic = magic;
+        }
+
+        static ImageFormat sniff(byte[] head, int length) {
+            for (ImageFormat format : values()) {
+                if (length >= format.magic.length
+                        && Arrays.equals(head, 0, format.magic.length, format.magic, 0, format.magic.length)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @param declaredLength the request's Content-Length, or -1 if unknown
+     */
+    public StoredUpload receive(InputStream body, long declaredLength, long maxSize, Path directory) throws IOException {
+        long start = System.nanoTime();
+        String result = "error";
+        try {
+            StoredUpload upload = store(body, declaredLength, maxSize, directory);
+            result = "stored";
+            return upload;
+        } catch (ResponseStatusException e) {
+            result = e.getStatusCode() == HttpStatus.PAYLOAD_TOO_LARGE ? "too_large" : "unsupported";
+            throw e;
+        } finally {
+            record("stream", result, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records an upload received some other way, e.g. as a multipart part.
+     */
+    public void recordReceived(String method, long size, long nanos) {
+        uploadedBytes.record(size);
+        record(method, "stored", nanos);
+    }
+
+    private void record(String method, String result, long nanos) {
+        Timer.builder("profile.images.upload")
+                .description("Time to receive a profile image upload")
+                .tag("method", method)
+                .tag("result", result)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private StoredUpload store(InputStream body, long declaredLength, long maxSize, Path directory) throws IOException {
+        if (declaredLength > maxSize) {
+            throw tooLarge(maxSize);
+        }
+        Files.createDirectories(directory);
+
+        String baseName = UUID.randomUUID().toString();
+        Path partial = directory.resolve(baseName + ".part");
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte[] head = new byte[SNIFF_LENGTH];
+        int headLength = 0;
+        ImageFormat format = null;
+        long size = 0;
+        boolean complete = false;
+
+        try (ReadableByteChannel in = Channels.newChannel(body);
+             FileChannel out = FileChannel.open(partial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                size += buffer.remaining();
+                if (size > maxSize) {
+                    throw tooLarge(maxSize);
+                }
+                if (format == null) {
+                    int copy = Math.min(SNIFF_LENGTH - headLength, buffer.remaining());
+                    buffer.get(buffer.position(), head, headLength, copy);
+                    headLength += copy;
+                    format = ImageFormat.sniff(head, headLength);
+                    if (format == null && headLength == SNIFF_LENGTH) {
+                        throw unsupported();
+                    }
+                }
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+            if (format == null) {
+                throw unsupported();
+            }
+            complete = true;
+        } finally {
+            if (!complete) {
+                Files.deleteIfExists(partial);
+            }
+        }
+
+        String fileName = baseName + format.extension;
+        Path target = directory.resolve(fileName);
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        uploadedBytes.record(size);
+        return new StoredUpload(target, fileName, size, digest.digest());
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static ResponseStatusException tooLarge(long maxSize) {
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                String.format("File size must be less than %dMB", maxSize / (1024 * 1024)));
+    }
+
+    private static ResponseStatusException unsupported() {
+        return new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Only JPG, PNG and GIF files are allowed");
+    }
+}
@@ -0,0 +1,84 @@
+package com.bluecyber.MyFolio_BE.service;
+
+import com.bluecyber.MyFolio_BE.entity.OneTimeToken;
+import com.bluecyber.MyFolio_BE.entity.TokenPurpose;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.exception.InvalidTokenException;
+import com.bluecyber.MyFolio_BE.repository.OneTimeTokenRepository;
+import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Issues and redeems single-use tokens. Tokens are looked up by the unique index
+ * on their hash, so redemption cost does not grow with the number of users.
+ */
+@Service
+@RequiredArgsConstructor
+public class OneTimeTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final OneTimeTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Replaces any outstanding token of the same purpose for the user and returns
+     * the raw value of the new one.
+     */
+    @Transactional
+    public String issue(User user, TokenPurpose purpose, Duration ttl) {
+        tokenRepository.deleteByUserIdAndPurpose(user.getId(), purpose);
+
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        tokenRepository.save(OneTimeToken.builder()
+                .tokenHash(hashToken(token))
+                .purpose(purpose)
+                .user(userRepository.getReferenceById(user.getId()))
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build());
+        return token;
+    }
+
+    /**
+     * Deletes the token and returns its user. Must be called inside the caller's
+     * transaction so the token is only spent if the caller's changes commit.
+     */
+    @Transactional
+    public User redeem(String token, TokenPurpose purpose) {
+        if (token == null || token.isBlank()) {
+            throw new InvalidTokenException("Invalid or expired token");
+        }
+        var stored = tokenRepository.findByTokenHashAndPurpose(hashToken(token), purpose)
+                .orElseThrow(() -> new InvalidTokenException("Invalid or expired token"));
+        if (stored.getExpiresAt().isBefore(Instant.now())) {
+            throw new InvalidTokenException("Token has expired");
+        }
+        tokenRepository.delete(stored);
+        return stored.getUser();
+    }
+
+    public static String hashToken(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
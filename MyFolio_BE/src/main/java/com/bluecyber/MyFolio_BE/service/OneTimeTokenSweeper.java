@@ -0,0 +1,116 @@
+package com.bluecyber.MyFolio_BE.service;
+
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.repository.OneTimeTokenRepository;
+import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Deletes expired one-time tokens and accounts that never verified their email.
+ * Rows are removed in chunks, one short transaction per chunk, so a large backlog
+ * never holds locks for long.
+ */
+@Service
+@Slf4j
+public class OneTimeTokenSweeper {
+
+    private final OneTimeTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final ImageBlobStore imageBlobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Counter sweptTokens;
+    private final Counter sweptUsers;
+    private final int chunkSize;
+    private final Duration unverifiedRetention;
+
+    public OneTimeTokenSweeper(
+            OneTimeTokenRepository tokenRepository,
+            UserRepository userRepository,
+            ImageBlobStore imageBlobStore,
+            TransactionTemplate transactionTemplate,
+            EntityManagerFactory entityManagerFactory,
+            MeterRegistry meterRegistry,
+            @Value("${tokens.sweep.chunk-size:500}") int chunkSize,
+            @Value("${tokens.sweep.unverified-retention:7d}") Duration unverifiedRetention
+    ) {
+        this.tokenRepository = tokenRepository;
+        this.userRepository = userRepository;
+        this.imageBlobStore = imageBlobStore;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.sweptTokens = meterRegistry.counter("tokens.swept", "kind", "expired_token");
+        this.sweptUsers = meterRegistry.counter("tokens.swept", "kind", "unverified_user");
+        this.chunkSize = chunkSize;
+        this.unverifiedRetention = unverifiedRetention;
+    }
+
+    @Scheduled(initialDelayString = "${tokens.sweep.interval:10m}", fixedDelayString = "${tokens.sweep.interval:10m}")
+    public void sweep() {
+        int tokens = sweepExpiredTokens();
+        int users = sweepUnverifiedUsers();
+        if (tokens > 0 || users > 0) {
+            log.info("Swept {} expired tokens and {} unverified accounts", tokens, users);
+        }
+    }
+
+    public int sweepExpiredTokens() {
+        Instant now = Instant.now();
+        return deleteInChunks(() -> tokenRepository.findExpiredIds(now, Limit.of(chunkSize)),
+                tokenRepository::deleteAllByIdInBatch, sweptTokens);
+    }
+
+    /**
+     * Accounts without projects that stayed unverified past the retention period.
+     * Their tokens go with them through the foreign key's cascade; references to
+     * profile images are dropped explicitly.
+     */
+    public int sweepUnverifiedUsers() {
+        Instant cutoff = Instant.now().minus(unverifiedRetention);
+        int deleted = deleteInChunks(() -> userRepository.findUnverifiedIdsCreatedBefore(cutoff, Limit.of(chunkSize)),
+                ids -> {
+                    userRepository.findProfileImageHashesByIdIn(ids).forEach(imageBlobStore::release);
+                    userRepository.deleteAllByIdInBatch(ids);
+                    // Bulk deletes bypass the second-level cache
+                    Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+                    ids.forEach(id -> cache.evictEntityData(User.class, id));
+                },
+                sweptUsers);
+        if (deleted > 0) {
+            entityManagerFactory.getCache().unwrap(Cache.class).evictNaturalIdData(User.class);
+        }
+        return deleted;
+    }
+
+    private int deleteInChunks(Supplier<List<Long>> nextChunk, Consumer<List<Long>> delete, Counter counter) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = nextChunk.get();
+                if (!ids.isEmpty()) {
+                    delete.accept(ids);
+                }
+                return ids.size();
+            });
+            total += deleted;
+            counter.increment(deleted);
+        } while (deleted == chunkSize);
+        return total;
+    }
+}
@@ -0,0 +1,148 @@
+package com.bluecyber.MyFolio_BE.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Writes every user with their projects as NDJSON, one user per line. Rows come
+ * from a forward-only scroll over a users/projects join and are written as they
+ * are read; nothing is loaded into the persistence context and no list of users
+ * is built, so memory use does not depend on the number of users. On MySQL the
+ * driver only streams the result when {@code export.fetch-size} is
+ * {@link Integer#MIN_VALUE}, which is set only for this query. Rows are ordered
+ * by user only: users are read in primary key order and each user's projects are
+ * joined through the {@code user_id} index, so the database sorts nothing. The
+ * projects within a user come in no particular order.
+ */
+@Service
+@Slf4j
+public class PortfolioExporter {
+
+    private static final String EXPORT_QUERY = """
+            select u.id, u.name, u.email, u.jobTitle, u.bio, u.profileImage, u.emailVerified, u.createdAt, u.updatedAt,
+                   p.id, p.name, p.demoUrl, p.repositoryUrl, p.description, p.updatedAt
+            from User u left join u.projects p
+            order by u.id""";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public PortfolioExporter(
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${export.fetch-size:500}") int fetchSize
+    ) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Streams the export to {@code out}, which is flushed but not closed.
+     *
+     * @return the number of users written
+     */
+    public long export(OutputStream out) {
+        long started = System.nanoTime();
+        Long users = readOnlyTransaction.execute(status -> {
+            try (JsonGenerator json = objectMapper.createGenerator(out)) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Lines are ended explicitly instead of separated by spaces
+                json.setRootValueSeparator(null);
+                return write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Exported {} portfolios in {} ms", users, (System.nanoTime() - started) / 1_000_000);
+        return Objects.requireNonNullElse(users, 0L);
+    }
+
+    private long write(JsonGenerator json) throws IOException {
+        Session session = entityManager.unwrap(Session.class);
+        long users = 0;
+        Long currentUserId = null;
+        try (ScrollableResults<Object[]> rows = session.createSelectionQuery(EXPORT_QUERY, Object[].class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                Object[] row = rows.get();
+                Long userId = (Long) row[0];
+                if (!userId.equals(currentUserId)) {
+                    if (currentUserId != null) {
+                        endUser(json);
+                    }
+                    startUser(json, row);
+                    currentUserId = userId;
+                    users++;
+                }
+                if (row[9] != null) {
+                    writeProject(json, row);
+                }
+            }
+        }
+        if (currentUserId != null) {
+            endUser(json);
+        }
+        json.flush();
+        return users;
+    }
+
+    private void startUser(JsonGenerator json, Object[] row) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", (Long) row[0]);
+        json.writeStringField("name", (String) row[1]);
+        json.writeStringField("email", (String) row[2]);
+        json.writeStringField("jobTitle", (String) row[3]);
+        json.writeStringField("bio", (String) row[4]);
+        json.writeStringField("profileImage", (String) row[5]);
+        json.writeBooleanField("emailVerified", (Boolean) row[6]);
+        writeInstant(json, "createdAt", (Instant) row[7]);
+        writeInstant(json, "updatedAt", (Instant) row[8]);
+        json.writeArrayFieldStart("projects");
+    }
+
+    private void writeProject(JsonGenerator json, Object[] row) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", (Long) row[9]);
+        json.writeStringField("name", (String) row[10]);
+        json.writeStringField("demoUrl", (String) row[11]);
+        json.writeStringField("repositoryUrl", (String) row[12]);
+        json.writeStringField("description", (String) row[13]);
+        writeInstant(json, "updatedAt", (Instant) row[14]);
+        json.writeEndObject();
+    }
+
+    private void endUser(JsonGenerator json) throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static void writeInstant(JsonGenerator json, String field, Instant value) throws IOException {
+        json.writeStringField(field, value != null ? value.toString() : null);
+    }
+}
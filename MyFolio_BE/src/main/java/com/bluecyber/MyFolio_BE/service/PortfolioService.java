@@ -0,0 +1,84 @@
+package com.bluecyber.MyFolio_BE.service;
+
+import com.bluecyber.MyFolio_BE.dto.PortfolioResponse;
+import com.bluecyber.MyFolio_BE.event.ProfileChangedEvent;
+import com.bluecyber.MyFolio_BE.event.ProjectChangedEvent;
+import com.bluecyber.MyFolio_BE.event.ProjectsImportedEvent;
+import com.bluecyber.MyFolio_BE.exception.ResourceNotFoundException;
+import com.bluecyber.MyFolio_BE.repository.ProjectRepository;
+import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Public portfolio read model (profile plus projects), served from an in-memory
+ * cache and invalidated by the profile and project write paths.
+ */
+@Service
+public class PortfolioService {
+
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final Cache<Long, PortfolioResponse> cache;
+
+    public PortfolioService(
+            UserRepository userRepository,
+            ProjectRepository projectRepository,
+            MeterRegistry meterRegistry,
+            @Value("${portfolio.cache.max-size:10000}") long maxSize,
+            @Value("${portfolio.cache.ttl:10m}") Duration ttl
+    ) {
+        this.userRepository = userRepository;
+        this.projectRepository = projectRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "portfolio");
+    }
+
+    public PortfolioResponse getPortfolio(Long userId) {
+        return cache.get(userId, this::loadPortfolio);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectsImported(ProjectsImportedEvent event) {
+        cache.invalidate(event.userId());
+    }
+
+    private PortfolioResponse loadPortfolio(Long userId) {
+        var user = userRepository.findProfileById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        var projects = projectRepository.findSummariesByUserId(userId);
+        return PortfolioResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .jobTitle(user.getJobTitle())
+                .bio(user.getBio())
+                .profileImage(user.getProfileImage())
+                .profileImageUrls(user.getProfileImageUrls())
+                .projects(projects)
+                .version(user.getVersion())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+}
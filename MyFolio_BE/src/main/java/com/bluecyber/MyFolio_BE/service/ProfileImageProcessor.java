@@ -0,0 +1,347 @@
+package com.bluecyber.MyFolio_BE.service;
+
+import com.bluecyber.MyFolio_BE.dto.ProfileImageVariants;
+import com.bluecyber.MyFolio_BE.event.ProfileChangedEvent;
+import com.bluecyber.MyFolio_BE.exception.ServiceOverloadedException;
+import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import com.bluecyber.MyFolio_BE.storage.BlobStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Turns an uploaded profile image into fixed-width JPEG variants off the request
+ * thread. The original is decoded once, without metadata, and subsampled while
+ * decoding so that large photos never materialize at full resolution. At most
+ * {@code threads + queue-capacity} uploads are admitted at a time; further uploads
+ * are refused with {@link ServiceOverloadedException} before anything is stored.
+ * Variants are named after the original's content hash, so an image that has been
+ * processed before is not processed again.
+ */
+@Service
+@Slf4j
+public class ProfileImageProcessor {
+
+    private static final long RETRY_AFTER_SECONDS = 5;
+    private static final int MAX_SWITCH_ATTEMPTS = 3;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImageBlobStore blobStore;
+    private final BlobStorage storage;
+    private final long maxPixels;
+    private final float jpegQuality;
+    private final ExecutorService executor;
+    private final Semaphore admissions;
+    private final Timer processingTimer;
+    private final Counter rejected;
+    private final Counter failed;
+
+    public ProfileImageProcessor(
+            UserRepository userRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            ImageBlobStore blobStore,
+            MeterRegistry meterRegistry,
+            @Value("${profile-images.processing.threads:2}") int threads,
+            @Value("${profile-images.processing.queue-capacity:16}") int queueCapacity,
+            @Value("${profile-images.processing.max-pixels:40000000}") long maxPixels,
+            @Value("${profile-images.processing.jpeg-quality:0.82}") float jpegQuality
+    ) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.blobStore = blobStore;
+        this.storage = blobStore.getStorage();
+        this.maxPixels = maxPixels;
+        this.jpegQuality = jpegQuality;
+        int capacity = threads + queueCapacity;
+        this.admissions = new Semaphore(capacity);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "profile-image-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("profile.images.pending", admissions, permits -> capacity - permits.availablePermits())
+                .description("Uploads admitted and not yet processed")
+                .register(meterRegistry);
+        this.processingTimer = Timer.builder("profile.images.processing").register(meterRegistry);
+        this.rejected = Counter.builder("profile.images.rejected")
+                .description("Uploads refused because the processing pipeline was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("profile.images.failed").register(meterRegistry);
+    }
+
+    /**
+     * Reserves room in the pipeline. Call before storing anything so an overloaded
+     * pipeline leaves the user's current image untouched.
+     */
+    public Admission admit() {
+        if (!admissions.tryAcquire()) {
+            rejected.increment();
+            throw new ServiceOverloadedException("Image processing is busy, please try again shortly", RETRY_AFTER_SECONDS);
+        }
+        return new Admission();
+    }
+
+    /**
+     * Reads only the image header and rejects files that cannot be decoded or
+     * would exceed the pixel budget.
+     */
+    public void validate(Path original) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            ImageReader reader = readerFor(in);
+            try {
+                reader.setInput(in, true, true);
+                checkPixels(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported or corrupt image");
+        }
+    }
+
+    private void process(Long userId, String originalName) {
+        String fileName = originalName.substring(originalName.lastIndexOf('/') + 1);
+        String key = fileName.contains(".") ? fileName.substring(0, fileName.lastIndexOf('.')) : fileName;
+        if (!variantsExist(key)) {
+            try {
+                processingTimer.recordCallable(() -> {
+                    writeVariants(key, decode(originalName));
+                    return null;
+                });
+            } catch (Exception e) {
+                // Partial variants are shared by name and overwritten by the next attempt
+                failed.increment();
+                log.warn("Could not process profile image {} for user {}: {}", originalName, userId, e.getMessage());
+                return;
+            }
+        }
+
+        // A request may update the user between our read and commit; read it again
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    var user = userRepository.findById(userId).orElse(null);
+                    // A newer upload or a removal supersedes this one
+                    if (user == null || !originalName.equals(user.getProfileImage())) {
+                        return;
+                    }
+                    user.setProfileImageKey(key);
+                    user.setProfileImage(ProfileImageVariants.fileName(key, ProfileImageVariants.largestWidth()));
+                    eventPublisher.publishEvent(new ProfileChangedEvent(userId));
+                });
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_SWITCH_ATTEMPTS) {
+                    failed.increment();
+                    log.warn("Could not switch user {} to the variants of {}: {}", userId, originalName, e.getMessage());
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean variantsExist(String key) {
+        try {
+            for (int width : ProfileImageVariants.WIDTHS) {
+                if (!storage.exists(ProfileImageVariants.fileName(key, width))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private BufferedImage decode(String originalName) throws IOException {
+        try (InputStream stored = storage.open(originalName);
+             ImageInputStream in = ImageIO.createImageInputStream(stored)) {
+            ImageReader reader = readerFor(in);
+            try {
+                // Ignoring metadata drops EXIF, GPS and embedded thumbnails
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                checkPixels(width, height);
+                ImageReadParam param = reader.getDefaultReadParam();
+                // Decode no more rows or columns than the largest variant can use
+                int largest = ProfileImageVariants.largestWidth();
+                int subsampling = Math.max(1, Math.max(width / largest, height / ProfileImageVariants.maxHeight(largest)));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void writeVariants(String key, BufferedImage source) throws IOException {
+        // Largest first, each variant scaled down from the previous one
+        BufferedImage current = opaque(source);
+        List<Integer> widths = ProfileImageVariants.WIDTHS;
+        for (int i = widths.size() - 1; i >= 0; i--) {
+            int width = widths.get(i);
+            current = scaleDown(current, width, ProfileImageVariants.maxHeight(width));
+            writeJpeg(current, ProfileImageVariants.fileName(key, width));
+        }
+    }
+
+    private void writeJpeg(BufferedImage image, String name) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        Path temp = Files.createTempFile(blobStore.getIncomingDirectory(), "variant-", ".jpg");
+        try {
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            storage.put(name, temp, "image/jpeg");
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static BufferedImage opaque(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    /**
+     * Halves repeatedly before the final step; a single bilinear pass over a large
+     * ratio skips most source pixels and aliases badly.
+     */
+    private static BufferedImage scaleDown(BufferedImage image, int maxWidth, int maxHeight) {
+        double scale = Math.min(1, Math.min(
+                (double) maxWidth / image.getWidth(), (double) maxHeight / image.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage current = image;
+        while (current.getWidth() > targetWidth || current.getHeight() > targetHeight) {
+            int width = Math.max(targetWidth, current.getWidth() / 2);
+            int height = Math.max(targetHeight, current.getHeight() / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    private static ImageReader readerFor(ImageInputStream in) throws IOException {
+        if (in == null) {
+            throw new IOException("Image not readable");
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+        if (!readers.hasNext()) {
+            throw new IOException("No reader for image format");
+        }
+        return readers.next();
+    }
+
+    private void checkPixels(int width, int height) throws IOException {
+        if ((long) width * height > maxPixels) {
+            throw new IOException("Image of " + width + "x" + height + " exceeds the pixel limit");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * A reserved pipeline slot. Either hand it a stored upload with
+     * {@link #submit}, or close it to give the slot back.
+     */
+    public final class Admission implements AutoCloseable {
+
+        private boolean submitted;
+
+        private Admission() {
+        }
+
+        public void submit(Long userId, String originalName) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        process(userId, originalName);
+                    } finally {
+                        admissions.release();
+                    }
+                });
+                submitted = true;
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                throw new ServiceOverloadedException("Image processing is unavailable", RETRY_AFTER_SECONDS);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!submitted) {
+                admissions.release();
+            }
+        }
+    }
+}
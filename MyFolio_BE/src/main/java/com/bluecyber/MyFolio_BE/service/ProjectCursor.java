@@ -0,0 +1,56 @@
+package com.bluecyber.MyFolio_BE.service;
+
+import com.bluecyber.MyFolio_BE.dto.ProjectSort;
+import com.bluecyber.MyFolio_BE.dto.ProjectSummary;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page: the sort it belongs to plus that row's
+ * sort key (creation time or name) and id. Serialized as URL-safe Base64 so
+ * clients treat it as opaque.
+ */
+record ProjectCursor(ProjectSort sort, Long lastId, String lastKey) {
+
+    private static final char SEPARATOR = '\n';
+
+    static ProjectCursor after(ProjectSort sort, ProjectSummary last) {
+        String key = switch (sort) {
+            case NEWEST -> last.getCreatedAt().toString();
+            case NAME -> last.getName();
+        };
+        return new ProjectCursor(sort, last.getId(), key);
+    }
+
+    Instant lastCreatedAt() {
+        return Instant.parse(lastKey);
+    }
+
+    String encode() {
+        String raw = sort.name() + SEPARATOR + lastId + SEPARATOR + lastKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ProjectCursor decode(String cursor, ProjectSort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), 3);
+            ProjectSort sort = ProjectSort.valueOf(parts[0]);
+            if (sort != expectedSort || parts.length != 3) {
+                throw new IllegalArgumentException("Cursor does not match sort");
+            }
+            ProjectCursor decoded = new ProjectCursor(sort, Long.parseLong(parts[1]), parts[2]);
+            if (sort == ProjectSort.NEWEST) {
+                decoded.lastCreatedAt();
+            }
+            return decoded;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
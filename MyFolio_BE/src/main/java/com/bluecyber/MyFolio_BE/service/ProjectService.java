@@ -1,99 +1,240 @@
 package com.bluecyber.MyFolio_BE.service;
 
+import com.bluecyber.MyFolio_BE.dto.ProjectBundle;
+import com.bluecyber.MyFolio_BE.dto.ProjectPage;
 import com.bluecyber.MyFolio_BE.dto.ProjectRequest;
+import com.bluecyber.MyFolio_BE.dto.ProjectSort;
+import com.bluecyber.MyFolio_BE.dto.ProjectSummary;
 import com.bluecyber.MyFolio_BE.entity.Project;
+import com.bluecyber.MyFolio_BE.event.ProjectChangedEvent;
+import com.bluecyber.MyFolio_BE.event.ProjectsImportedEvent;
 import com.bluecyber.MyFolio_BE.repository.ProjectRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
 
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+
     private final ProjectRepository projectRepository;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    public List<Project> getUserProjects(Long userId) {
-        try {
-            var user = userService.getUserById(userId);
-            if (user == null) {
-                return new ArrayList<>();
-            }
-            List<Project> projects = projectRepository.findByUser(user);
-            return projects != null ? projects : new ArrayList<>();
-        } catch (Exception e) {
-            // Log the error
-            e.printStackTrace();
-            return new ArrayList<>();
+    @Value("${projects.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${projects.import.max-size:500}")
+    private int maxImportSize;
+
+    @Transactional(readOnly = true)
+    public List<ProjectSummary> getUserProjects(Long userId) {
+        return projectRepository.findSummariesByUserId(userId);
+    }
+
+    /**
+     * One keyset page of a user's projects, read as projections. Each page seeks
+     * from the previous page's last row, so deep pages cost the same as the first.
+     */
+    @Transactional(readOnly = true)
+    public ProjectPage getUserProjectPage(Long userId, String cursor, int size, ProjectSort sort) {
+        if (size < 1 || size > maxPageSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                String.format("Page size must be between 1 and %d", maxPageSize));
         }
+        // Fetch one extra row to learn whether another page exists
+        Limit limit = Limit.of(size + 1);
+        ProjectCursor after = cursor == null || cursor.isBlank() ? null : ProjectCursor.decode(cursor, sort);
+
+        List<ProjectSummary> rows = switch (sort) {
+            case NEWEST -> after == null
+                    ? projectRepository.findNewestSummaries(userId, limit)
+                    : projectRepository.findNewestSummariesAfter(userId, after.lastCreatedAt(), after.lastId(), limit);
+            case NAME -> after == null
+                    ? projectRepository.findSummariesByName(userId, limit)
+                    : projectRepository.findSummariesByNameAfter(userId, after.lastKey(), after.lastId(), limit);
+        };
+
+        if (rows.size() <= size) {
+            return ProjectPage.builder().items(rows).build();
+        }
+        List<ProjectSummary> items = rows.subList(0, size);
+        return ProjectPage.builder()
+                .items(List.copyOf(items))
+                .nextCursor(ProjectCursor.after(sort, items.get(size - 1)).encode())
+                .build();
     }
 
     private void validateUrl(String url, String fieldName) {
+        if (!isValidUrl(url)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, 
+                String.format("Invalid %s URL format", fieldName));
+        }
+    }
+
+    private static boolean isValidUrl(String url) {
         if (url != null && !url.isEmpty()) {
             try {
                 new URL(url);
             } catch (MalformedURLException e) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, 
-                    String.format("Invalid %s URL format", fieldName));
+                return false;
             }
         }
+        return true;
     }
 
-    public Project addProject(ProjectRequest request) {
+    public ProjectSummary addProject(ProjectRequest request) {
         validateUrl(request.getDemoUrl(), "demo");
         validateUrl(request.getRepositoryUrl(), "repository");
 
-        var user = userService.getCurrentUser();
-        
-        var project = Project.builder()
-                .name(request.getName())
-                .demoUrl(request.getDemoUrl())
-                .repositoryUrl(request.getRepositoryUrl())
-                .description(request.getDescription())
-                .user(user)
-                .build();
-        
-        return projectRepository.save(project);
+        return inRetriedTransaction(() -> {
+            var user = userService.getCurrentUserReference();
+
+            var project = Project.builder()
+                    .name(request.getName())
+                    .demoUrl(request.getDemoUrl())
+                    .repositoryUrl(request.getRepositoryUrl())
+                    .description(request.getDescription())
+                    .user(user)
+                    .build();
+
+            var saved = projectRepository.save(project);
+            userService.markPortfolioUpdated(user.getId());
+            eventPublisher.publishEvent(new ProjectChangedEvent(user.getId(), saved.getId(), ProjectChangedEvent.ChangeType.CREATED));
+            return ProjectSummary.from(saved);
+        });
     }
 
-    public Project updateProject(Long projectId, ProjectRequest request) {
+    /**
+     * Adds all projects of the bundle or none. Every row is checked before anything
+     * is written, and the inserts go out in JDBC batches since project ids are
+     * allocated in blocks rather than by the database.
+     */
+    public List<ProjectSummary> importProjects(ProjectBundle bundle) {
+        List<ProjectRequest> rows = bundle.getProjects();
+        if (rows.size() > maxImportSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                String.format("At most %d projects can be imported at once", maxImportSize));
+        }
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (!isValidUrl(rows.get(i).getDemoUrl())) {
+                errors.add(String.format("projects[%d].demoUrl: Invalid demo URL format", i));
+            }
+            if (!isValidUrl(rows.get(i).getRepositoryUrl())) {
+                errors.add(String.format("projects[%d].repositoryUrl: Invalid repository URL format", i));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.join("; ", errors));
+        }
+
+        return inRetriedTransaction(() -> {
+            var user = userService.getCurrentUserReference();
+            var projects = rows.stream()
+                    .map(row -> Project.builder()
+                            .name(row.getName())
+                            .demoUrl(row.getDemoUrl())
+                            .repositoryUrl(row.getRepositoryUrl())
+                            .description(row.getDescription())
+                            .user(user)
+                            .build())
+                    .toList();
+
+            var saved = projectRepository.saveAll(projects);
+            userService.markPortfolioUpdated(user.getId());
+            eventPublisher.publishEvent(new ProjectsImportedEvent(user.getId(), saved.stream().map(Project::getId).toList()));
+            return saved.stream().map(ProjectSummary::from).toList();
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public ProjectBundle exportProjects() {
+        var projects = projectRepository.findSummariesByUserId(userService.getCurrentUserId()).stream()
+                .map(project -> ProjectRequest.builder()
+                        .name(project.getName())
+                        .demoUrl(project.getDemoUrl())
+                        .repositoryUrl(project.getRepositoryUrl())
+                        .description(project.getDescription())
+                        .build())
+                .toList();
+        return ProjectBundle.builder().projects(projects).build();
+    }
+
+    public ProjectSummary updateProject(Long projectId, ProjectRequest request) {
         validateUrl(request.getDemoUrl(), "demo");
         validateUrl(request.getRepositoryUrl(), "repository");
 
-        var project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
-        
-        var currentUser = userService.getCurrentUser();
-        if (!project.getUser().getId().equals(currentUser.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, 
-                "You don't have permission to update this project");
-        }
-        
-        project.setName(request.getName());
-        project.setDemoUrl(request.getDemoUrl());
-        project.setRepositoryUrl(request.getRepositoryUrl());
-        project.setDescription(request.getDescription());
-        
-        return projectRepository.save(project);
+        return inRetriedTransaction(() -> {
+            var project = projectRepository.findById(projectId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
+
+            var currentUserId = userService.getCurrentUserId();
+            if (!project.getUser().getId().equals(currentUserId)) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN,
+                    "You don't have permission to update this project");
+            }
+
+            project.setName(request.getName());
+            project.setDemoUrl(request.getDemoUrl());
+            project.setRepositoryUrl(request.getRepositoryUrl());
+            project.setDescription(request.getDescription());
+
+            var saved = projectRepository.save(project);
+            userService.markPortfolioUpdated(currentUserId);
+            eventPublisher.publishEvent(new ProjectChangedEvent(currentUserId, projectId, ProjectChangedEvent.ChangeType.UPDATED));
+            return ProjectSummary.from(saved);
+        });
     }
 
     public void deleteProject(Long projectId) {
-        var project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
-        
-        var currentUser = userService.getCurrentUser();
-        if (!project.getUser().getId().equals(currentUser.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, 
-                "You don't have permission to delete this project");
+        inRetriedTransaction(() -> {
+            var project = projectRepository.findById(projectId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found"));
+
+            var currentUserId = userService.getCurrentUserId();
+            if (!project.getUser().getId().equals(currentUserId)) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN,
+                    "You don't have permission to delete this project");
+            }
+
+            projectRepository.delete(project);
+            userService.markPortfolioUpdated(currentUserId);
+            eventPublisher.publishEvent(new ProjectChangedEvent(currentUserId, projectId, ProjectChangedEvent.ChangeType.DELETED));
+            return null;
+        });
+    }
+
+    /**
+     * Runs a project write in its own transaction. Every write bumps the owner's
+     * version, so concurrent writes by the same user conflict on the user row; the
+     * loser is rerun from scratch a few times before the conflict is reported.
+     */
+    private <T> T inRetriedTransaction(Supplier<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> write.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_WRITE_ATTEMPTS) {
+                    throw e;
+                }
+            }
         }
-        
-        projectRepository.delete(project);
     }
 } 
\ No newline at end of file
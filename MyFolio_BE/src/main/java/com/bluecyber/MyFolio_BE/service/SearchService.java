@@ -0,0 +1,143 @@
+package com.bluecyber.MyFolio_BE.service;
+
+import com.bluecyber.MyFolio_BE.dto.SearchPage;
+import com.bluecyber.MyFolio_BE.dto.SearchType;
+import com.bluecyber.MyFolio_BE.event.EmailVerifiedEvent;
+import com.bluecyber.MyFolio_BE.event.ProfileChangedEvent;
+import com.bluecyber.MyFolio_BE.event.ProjectChangedEvent;
+import com.bluecyber.MyFolio_BE.event.ProjectsImportedEvent;
+import com.bluecyber.MyFolio_BE.repository.ProjectRepository;
+import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import com.bluecyber.MyFolio_BE.search.IndexedProject;
+import com.bluecyber.MyFolio_BE.search.IndexedUser;
+import com.bluecyber.MyFolio_BE.search.SearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Keeps the {@link SearchIndex} in step with the database: rebuilt from it once
+ * all beans are ready, before the web server takes requests, then updated after
+ * each committed profile or project change. Like the portfolio cache, the index
+ * is per instance and only sees changes made on this instance.
+ */
+@Service
+public class SearchService implements SmartInitializingSingleton {
+
+    private final SearchIndex searchIndex;
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer searchTimer;
+    private final int maxPageSize;
+    private final int maxResults;
+    private final int rebuildBatchSize;
+
+    public SearchService(
+            SearchIndex searchIndex,
+            UserRepository userRepository,
+            ProjectRepository projectRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${search.page.max-size:50}") int maxPageSize,
+            @Value("${search.max-results:1000}") int maxResults,
+            @Value("${search.index.rebuild-batch-size:1000}") int rebuildBatchSize
+    ) {
+        this.searchIndex = searchIndex;
+        this.userRepository = userRepository;
+        this.projectRepository = projectRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.searchTimer = Timer.builder("search.queries").register(meterRegistry);
+        this.maxPageSize = maxPageSize;
+        this.maxResults = maxResults;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    public SearchPage search(String query, SearchType type, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query is required");
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                String.format("Page size must be between 1 and %d", maxPageSize));
+        }
+        // Relevance ranks past the first few pages are noise; don't pay to collect them
+        if (page < 0 || (long) (page + 1) * size > maxResults) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                String.format("Only the first %d results can be paged through", maxResults));
+        }
+        return searchTimer.record(() -> searchIndex.search(query, type, page * size, size));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Reads users and projects in keyset pages of {@code search.index.rebuild-batch-size}
+     * rows by id, so memory stays bounded without relying on the driver to stream a
+     * single large result. One read-only transaction keeps the pages consistent.
+     */
+    public void rebuild() {
+        searchIndex.rebuild(() -> readOnlyTransaction.executeWithoutResult(status -> {
+            List<IndexedUser> users;
+            long afterUserId = 0;
+            do {
+                users = userRepository.findIndexedAfter(afterUserId, Limit.of(rebuildBatchSize));
+                users.forEach(searchIndex::index);
+                afterUserId = users.isEmpty() ? afterUserId : users.get(users.size() - 1).id();
+            } while (users.size() == rebuildBatchSize);
+
+            List<IndexedProject> projects;
+            long afterProjectId = 0;
+            do {
+                projects = projectRepository.findIndexedAfter(afterProjectId, Limit.of(rebuildBatchSize));
+                searchIndex.index(projects);
+                afterProjectId = projects.isEmpty() ? afterProjectId : projects.get(projects.size() - 1).id();
+            } while (projects.size() == rebuildBatchSize);
+        }));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(ProfileChangedEvent event) {
+        readOnlyTransaction.executeWithoutResult(status ->
+                userRepository.findIndexedById(event.userId()).ifPresent(searchIndex::index));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmailVerified(EmailVerifiedEvent event) {
+        readOnlyTransaction.executeWithoutResult(status ->
+                userRepository.findIndexedById(event.userId()).ifPresent(user -> {
+                    searchIndex.index(user);
+                    searchIndex.index(projectRepository.findIndexedByUserId(user.id()));
+                }));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.type() == ProjectChangedEvent.ChangeType.DELETED) {
+            searchIndex.deleteProject(event.projectId());
+            return;
+        }
+        readOnlyTransaction.executeWithoutResult(status ->
+                projectRepository.findIndexedById(event.projectId()).ifPresent(searchIndex::index));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectsImported(ProjectsImportedEvent event) {
+        readOnlyTransaction.executeWithoutResult(status ->
+                searchIndex.index(projectRepository.findIndexedByIdIn(event.projectIds())));
+    }
+}
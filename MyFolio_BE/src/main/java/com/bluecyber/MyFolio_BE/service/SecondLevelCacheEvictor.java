@@ -0,0 +1,39 @@
+package com.bluecyber.MyFolio_BE.service;
+
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.event.ProjectChangedEvent;
+import com.bluecyber.MyFolio_BE.event.ProjectsImportedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Projects are saved from the owning side, so Hibernate does not touch the cached
+ * {@code User.projects} collection. Drop it when the set of projects changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheEvictor {
+
+    private static final String USER_PROJECTS_ROLE = User.class.getName() + ".projects";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.type() != ProjectChangedEvent.ChangeType.UPDATED) {
+            entityManagerFactory.getCache()
+                    .unwrap(Cache.class)
+                    .evictCollectionData(USER_PROJECTS_ROLE, event.userId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectsImported(ProjectsImportedEvent event) {
+        entityManagerFactory.getCache()
+                .unwrap(Cache.class)
+                .evictCollectionData(USER_PROJECTS_ROLE, event.userId());
+    }
+}
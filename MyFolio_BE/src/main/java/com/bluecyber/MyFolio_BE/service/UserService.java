@@ -1,86 +1,154 @@
 package com.bluecyber.MyFolio_BE.service;
 
+import com.bluecyber.MyFolio_BE.dto.ProfileImageUpload;
 import com.bluecyber.MyFolio_BE.dto.UserProfileRequest;
 import com.bluecyber.MyFolio_BE.dto.ChangePasswordRequest;
+import com.bluecyber.MyFolio_BE.dto.UserProfileResponse;
+import com.bluecyber.MyFolio_BE.dto.UserVersion;
 import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.event.ProfileChangedEvent;
 import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import com.bluecyber.MyFolio_BE.security.JwtPrincipal;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final String UPLOAD_DIRECTORY = "uploads/profile-images/";
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProfileImageProcessor profileImageProcessor;
+    private final ImageUploadReceiver imageUploadReceiver;
+    private final ImageBlobStore imageBlobStore;
+    private final TransactionTemplate transactionTemplate;
     private final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
     private final String[] ALLOWED_EXTENSIONS = {".jpg", ".jpeg", ".png", ".gif"};
 
     public User getCurrentUser() {
-        var email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return getUserById(principal.getId());
+        }
+        return userRepository.findByEmail(authentication.getName())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
     }
 
+    /**
+     * Resolves the caller's id from the security context without touching the
+     * database when the request was authenticated from token claims.
+     */
+    public Long getCurrentUserId() {
+        var principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return jwtPrincipal.getId();
+        }
+        if (principal instanceof User user) {
+            return user.getId();
+        }
+        return getCurrentUser().getId();
+    }
+
+    /**
+     * Uninitialized reference to the caller, for associating new rows with the
+     * user without loading it.
+     */
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUserId());
+    }
+
     public User getUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
     }
 
+    /**
+     * Read-only view of a user's profile, queried as a projection so no entity is
+     * loaded into the persistence context.
+     */
+    @Transactional(readOnly = true)
+    public UserProfileResponse getProfile(Long userId) {
+        return userRepository.findProfileById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public UserProfileResponse getCurrentUserProfile() {
+        return getProfile(getCurrentUserId());
+    }
+
+    @Transactional(readOnly = true)
+    public UserVersion getUserVersion(Long userId) {
+        return userRepository.findVersionById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    }
+
+    /**
+     * Bumps the owner's version and modification time when something hanging off
+     * the user (e.g. a project) changes. Must run inside the caller's transaction.
+     */
+    public void markPortfolioUpdated(Long userId) {
+        getUserById(userId).markUpdated();
+    }
+
     public User saveUser(User user) {
         return userRepository.save(user);
     }
 
-    public User updateProfile(UserProfileRequest request) {
+    @Transactional
+    public UserProfileResponse updateProfile(UserProfileRequest request) {
         var user = getCurrentUser();
         user.setName(request.getName());
         user.setJobTitle(request.getJobTitle());
         user.setBio(request.getBio());
-        return userRepository.save(user);
+        var saved = userRepository.save(user);
+        eventPublisher.publishEvent(new ProfileChangedEvent(saved.getId()));
+        return UserProfileResponse.from(saved);
     }
 
-    public User deleteProfileImage() {
+    public UserProfileResponse deleteProfileImage() {
         try {
-            var user = getCurrentUser();
-            if (user.getProfileImage() != null) {
-                Path filePath = Paths.get(UPLOAD_DIRECTORY, user.getProfileImage());
-                Files.deleteIfExists(filePath);
-                user.setProfileImage(null);
-                return userRepository.save(user);
-            }
-            return user;
+            return removeProfileImage(getCurrentUserId());
         } catch (IOException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not delete file", e);
         }
     }
 
-    public User updateProfileImage(MultipartFile file) {
+    /**
+     * Stores the upload in the content-addressed {@link ImageBlobStore} and hands it
+     * to the image pipeline, which replaces it with resized variants in the
+     * background. Until then the original is served.
+     */
+    public UserProfileResponse updateProfileImage(MultipartFile file) {
         try {
-            var user = getCurrentUser();
+            Long userId = getCurrentUserId();
 
             // Handle file removal
             if (file == null || file.isEmpty()) {
-                if (user.getProfileImage() != null) {
-                    Path oldFilePath = Paths.get(UPLOAD_DIRECTORY, user.getProfileImage());
-                    Files.deleteIfExists(oldFilePath);
-                    user.setProfileImage(null);
-                    return userRepository.save(user);
-                }
-                return user;
+                return removeProfileImage(userId);
             }
 
             // Validate file size
@@ -95,36 +163,110 @@ public class UserService {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only JPG, PNG and GIF files are allowed");
             }
 
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(UPLOAD_DIRECTORY);
-            if (!Files.exists(uploadPath)) {
-                System.out.println("Creating directory: " + uploadPath.toAbsolutePath());
-                Files.createDirectories(uploadPath);
+            try (var admission = profileImageProcessor.admit()) {
+                // Stage the file, hashing it on the way
+                Path filePath = imageBlobStore.getIncomingDirectory().resolve(UUID.randomUUID().toString() + extension);
+                MessageDigest digest = ImageUploadReceiver.sha256();
+                long start = System.nanoTime();
+                try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                    Files.copy(in, filePath, StandardCopyOption.REPLACE_EXISTING);
+                }
+                imageUploadReceiver.recordReceived("multipart", file.getSize(), System.nanoTime() - start);
+                return attachProfileImage(userId, filePath, digest.digest(), file.getSize(), admission);
             }
+        } catch (IOException e) {
+            log.error("Error handling file upload", e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not store file", e);
+        }
+    }
 
-            // Delete old file if exists
-            if (user.getProfileImage() != null) {
-                Path oldFilePath = uploadPath.resolve(user.getProfileImage());
-                System.out.println("Deleting old file: " + oldFilePath.toAbsolutePath());
-                Files.deleteIfExists(oldFilePath);
+    /**
+     * Streams a raw image request body into the upload directory in a single pass;
+     * see {@link ImageUploadReceiver}. Preferred over the multipart endpoint, which
+     * buffers the body before it is copied into place.
+     */
+    public ProfileImageUpload uploadProfileImage(InputStream body, long contentLength) {
+        try {
+            Long userId = getCurrentUserId();
+            try (var admission = profileImageProcessor.admit()) {
+                var upload = imageUploadReceiver.receive(body, contentLength, MAX_FILE_SIZE, imageBlobStore.getIncomingDirectory());
+                log.info("Received profile image {} ({} bytes) for user {}", upload.fileName(), upload.size(), userId);
+                var profile = attachProfileImage(userId, upload.path(), upload.sha256(), upload.size(), admission);
+                return new ProfileImageUpload(profile, upload.sha256());
             }
+        } catch (IOException e) {
+            log.error("Error handling file upload", e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not store file", e);
+        }
+    }
 
-            // Generate unique filename and save file
-            String filename = UUID.randomUUID().toString() + extension;
-            Path filePath = uploadPath.resolve(filename);
-            System.out.println("Saving new file to: " + filePath.toAbsolutePath());
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Points the user at the staged image's blob and drops the reference to the
+     * previous one in a single transaction. The old files stay in place until the
+     * blob store collects them, so a failure here never leaves a dangling reference.
+     * The user is only loaded inside the transaction: the image pipeline may have
+     * updated the row while the upload was being received, and a copy loaded
+     * earlier in the request would carry a stale version.
+     */
+    private UserProfileResponse attachProfileImage(Long userId, Path staged, byte[] sha256, long size,
+                                                   ProfileImageProcessor.Admission admission) throws IOException {
+        ImageChange change;
+        try {
+            profileImageProcessor.validate(staged);
+            String fileName = staged.getFileName().toString();
+            String extension = fileName.substring(fileName.lastIndexOf('.')).toLowerCase();
+            String hash = HexFormat.of().formatHex(sha256);
+            change = transactionTemplate.execute(status -> {
+                var user = getUserById(userId);
+                var previous = new ImageChange(user, user.getProfileImage(), user.getProfileImageKey(), user.getProfileImageHash());
+                try {
+                    user.setProfileImage(imageBlobStore.put(staged, hash, extension, size));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                imageBlobStore.release(previous.hash());
+                user.setProfileImageHash(hash);
+                user.setProfileImageKey(null);
+                eventPublisher.publishEvent(new ProfileChangedEvent(userId));
+                return previous;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            Files.deleteIfExists(staged);
+        }
 
-            // Update user profile image path
-            user.setProfileImage(filename);
-            System.out.println("Updating user profile with image: " + filename);
-            return userRepository.save(user);
+        if (change.hash() == null) {
+            imageBlobStore.deleteLegacy(change.image(), change.key());
+        }
+        admission.submit(userId, change.user().getProfileImage());
+        return UserProfileResponse.from(change.user());
+    }
 
-        } catch (IOException e) {
-            System.err.println("Error handling file upload: " + e.getMessage());
-            e.printStackTrace();
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not store file", e);
+    private UserProfileResponse removeProfileImage(Long userId) throws IOException {
+        var change = transactionTemplate.execute(status -> {
+            var user = getUserById(userId);
+            var previous = new ImageChange(user, user.getProfileImage(), user.getProfileImageKey(), user.getProfileImageHash());
+            if (previous.image() == null) {
+                return previous;
+            }
+            imageBlobStore.release(previous.hash());
+            user.setProfileImage(null);
+            user.setProfileImageKey(null);
+            user.setProfileImageHash(null);
+            eventPublisher.publishEvent(new ProfileChangedEvent(userId));
+            return previous;
+        });
+        if (change.hash() == null) {
+            imageBlobStore.deleteLegacy(change.image(), change.key());
         }
+        return UserProfileResponse.from(change.user());
+    }
+
+    /**
+     * The updated user and the image fields it had before the change.
+     */
+    private record ImageChange(User user, String image, String key, String hash) {
     }
 
     public void changePassword(ChangePasswordRequest request) {
@@ -0,0 +1,56 @@
+package com.bluecyber.MyFolio_BE.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Where uploaded files live. Names are relative, '/'-separated paths such as
+ * {@code ab/cd/<sha256>.png}. Selected with {@code storage.type}: {@code local}
+ * (the default) keeps files under {@code profile-images.directory}, {@code s3}
+ * keeps them in an S3-compatible bucket shared by all backend instances.
+ */
+public interface BlobStorage {
+
+    /**
+     * Stores the file under the given name, replacing any existing object. The
+     * source may be moved rather than copied; callers must not rely on it afterwards.
+     */
+    void put(String name, Path source, String contentType) throws IOException;
+
+    /**
+     * @throws java.nio.file.NoSuchFileException if there is no such object
+     */
+    InputStream open(String name) throws IOException;
+
+    boolean exists(String name) throws IOException;
+
+    void delete(String name) throws IOException;
+
+    /**
+     * All stored objects. The stream must be closed.
+     */
+    Stream<StoredObject> list() throws IOException;
+
+    /**
+     * A time-limited URL the client can fetch the object from directly, or empty if
+     * this storage is served by the application itself.
+     */
+    Optional<URI> presignedGetUrl(String name, Duration ttl);
+
+    /**
+     * The file backing the object on local disk, if this storage has one. Lets the
+     * object be served with zero-copy transfer.
+     */
+    default Optional<Path> localFile(String name) {
+        return Optional.empty();
+    }
+
+    record StoredObject(String name, Instant lastModified) {
+    }
+}
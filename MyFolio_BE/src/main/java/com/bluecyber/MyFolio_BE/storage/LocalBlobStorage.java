@@ -0,0 +1,81 @@
+package com.bluecyber.MyFolio_BE.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Files under a local directory, served by the application itself.
+ */
+public class LocalBlobStorage implements BlobStorage {
+
+    private final Path root;
+
+    public LocalBlobStorage(Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public void put(String name, Path source, String contentType) throws IOException {
+        Path target = resolve(name);
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public InputStream open(String name) throws IOException {
+        return Files.newInputStream(resolve(name));
+    }
+
+    @Override
+    public boolean exists(String name) {
+        return Files.exists(resolve(name));
+    }
+
+    @Override
+    public void delete(String name) throws IOException {
+        Files.deleteIfExists(resolve(name));
+    }
+
+    @Override
+    public Stream<StoredObject> list() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+        return Files.walk(root)
+                .filter(Files::isRegularFile)
+                .map(path -> {
+                    try {
+                        String name = root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+                        return new StoredObject(name, Files.getLastModifiedTime(path).toInstant());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Override
+    public Optional<URI> presignedGetUrl(String name, Duration ttl) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Path> localFile(String name) {
+        return Optional.of(resolve(name));
+    }
+
+    private Path resolve(String name) {
+        Path path = root.resolve(name).normalize();
+        if (!path.startsWith(root.normalize())) {
+            throw new IllegalArgumentException("Invalid object name: " + name);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,148 @@
+package com.bluecyber.MyFolio_BE.storage;
+
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Objects in an S3-compatible bucket (AWS S3, MinIO, ...) under a key prefix.
+ * Clients download them straight from the bucket through presigned URLs, so image
+ * bytes only pass through the application on upload, where they are validated.
+ */
+public class S3BlobStorage implements BlobStorage {
+
+    // Names are content-addressed, so whatever the client fetched stays valid
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final S3Client s3;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final String prefix;
+
+    public S3BlobStorage(S3Client s3, S3Presigner presigner, String bucket, String prefix) {
+        this.s3 = s3;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.prefix = prefix.isEmpty() || prefix.endsWith("/") ? prefix : prefix + "/";
+    }
+
+    @Override
+    public void put(String name, Path source, String contentType) throws IOException {
+        try {
+            s3.putObject(request -> request.bucket(bucket).key(key(name))
+                            .contentType(contentType)
+                            .cacheControl(CACHE_CONTROL),
+                    RequestBody.fromFile(source));
+        } catch (SdkException e) {
+            throw new IOException("Could not store " + name, e);
+        }
+    }
+
+    @Override
+    public InputStream open(String name) throws IOException {
+        try {
+            return s3.getObject(GetObjectRequest.builder().bucket(bucket).key(key(name)).build());
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(name);
+        } catch (SdkException e) {
+            throw new IOException("Could not read " + name, e);
+        }
+    }
+
+    @Override
+    public boolean exists(String name) throws IOException {
+        try {
+            s3.headObject(request -> request.bucket(bucket).key(key(name)));
+            return true;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw new IOException("Could not look up " + name, e);
+        } catch (SdkException e) {
+            throw new IOException("Could not look up " + name, e);
+        }
+    }
+
+    @Override
+    public void delete(String name) throws IOException {
+        try {
+            s3.deleteObject(request -> request.bucket(bucket).key(key(name)));
+        } catch (SdkException e) {
+            throw new IOException("Could not delete " + name, e);
+        }
+    }
+
+    /**
+     * Pages are fetched as the stream is consumed, so a failed page surfaces from
+     * the stream as an {@link UncheckedIOException}, like {@code Files.walk}.
+     */
+    @Override
+    public Stream<StoredObject> list() throws IOException {
+        Iterator<S3Object> objects;
+        try {
+            objects = s3.listObjectsV2Paginator(request -> request.bucket(bucket).prefix(prefix))
+                    .contents()
+                    .iterator();
+        } catch (SdkException e) {
+            throw new IOException("Could not list " + bucket, e);
+        }
+        Iterator<StoredObject> listing = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return objects.hasNext();
+                } catch (SdkException e) {
+                    throw new UncheckedIOException(new IOException("Could not list " + bucket, e));
+                }
+            }
+
+            @Override
+            public StoredObject next() {
+                try {
+                    S3Object object = objects.next();
+                    return new StoredObject(object.key().substring(prefix.length()), object.lastModified());
+                } catch (SdkException e) {
+                    throw new UncheckedIOException(new IOException("Could not list " + bucket, e));
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(listing, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public Optional<URI> presignedGetUrl(String name, Duration ttl) {
+        var presigned = presigner.presignGetObject(request -> request
+                .signatureDuration(ttl)
+                .getObjectRequest(get -> get.bucket(bucket).key(key(name))));
+        try {
+            return Optional.of(presigned.url().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String key(String name) {
+        return prefix + name;
+    }
+}
@@ -0,0 +1 @@
+create index idx_users_verified_updated on users (email_verified, updated_at, id);
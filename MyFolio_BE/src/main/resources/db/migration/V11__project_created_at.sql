@@ -0,0 +1,7 @@
+-- Pooled ids are handed out per instance, so they stop following creation order
+-- once more than one instance writes projects. Newest-first listings sort by
+-- creation time instead, ties broken by id. Existing rows share one timestamp,
+-- which keeps them in their previous id order.
+alter table projects add column created_at datetime(6);
+update projects set created_at = current_timestamp(6);
+create index idx_projects_user_created on projects (user_id, created_at, id);
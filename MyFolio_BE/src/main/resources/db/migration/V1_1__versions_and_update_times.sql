@@ -0,0 +1,10 @@
+-- Optimistic-lock versions and modification times, added to the entities before
+-- migrations existed; databases baselined at V1 do not have them yet.
+
+alter table users add column version bigint not null default 0;
+alter table users add column updated_at datetime(6);
+
+alter table projects add column version bigint not null default 0;
+alter table projects add column updated_at datetime(6);
+
+create index idx_projects_user_name on projects (user_id, name, id);
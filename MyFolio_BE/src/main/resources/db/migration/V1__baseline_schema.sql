@@ -0,0 +1,30 @@
+-- Schema as previously generated by ddl-auto: update. Existing databases are
+-- baselined at this version and never run it.
+
+create table users (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    job_title varchar(255),
+    bio varchar(1000),
+    profile_image varchar(255),
+    email_verified bit not null,
+    verification_token varchar(255),
+    verification_token_expiry bigint,
+    reset_password_token varchar(255),
+    reset_password_token_expiry bigint,
+    primary key (id),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
+
+create table projects (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    demo_url varchar(255),
+    repository_url varchar(255),
+    description varchar(1000),
+    user_id bigint,
+    primary key (id),
+    constraint fk_projects_user foreign key (user_id) references users (id)
+) engine=InnoDB;
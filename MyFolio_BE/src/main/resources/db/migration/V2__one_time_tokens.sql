@@ -0,0 +1,19 @@
+create table one_time_tokens (
+    id bigint not null auto_increment,
+    token_hash varchar(64) not null,
+    purpose varchar(32) not null,
+    user_id bigint not null,
+    expires_at datetime(6) not null,
+    created_at datetime(6) not null,
+    primary key (id),
+    constraint uk_one_time_tokens_token_hash unique (token_hash),
+    constraint fk_one_time_tokens_user foreign key (user_id) references users (id) on delete cascade
+) engine=InnoDB;
+
+create index idx_one_time_tokens_expires_at on one_time_tokens (expires_at);
+
+alter table users add column created_at datetime(6);
+
+update users set created_at = coalesce(updated_at, current_timestamp(6));
+
+create index idx_users_unverified_created on users (email_verified, created_at);
@@ -0,0 +1,4 @@
+alter table users drop column verification_token;
+alter table users drop column verification_token_expiry;
+alter table users drop column reset_password_token;
+alter table users drop column reset_password_token_expiry;
@@ -0,0 +1,15 @@
+create table email_outbox (
+    id bigint not null auto_increment,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body varchar(8000) not null,
+    status varchar(16) not null,
+    attempts integer not null,
+    next_attempt_at datetime(6) not null,
+    last_error varchar(1000),
+    created_at datetime(6) not null,
+    sent_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_email_outbox_status_next_attempt on email_outbox (status, next_attempt_at);
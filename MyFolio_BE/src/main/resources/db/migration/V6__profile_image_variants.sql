@@ -0,0 +1 @@
+alter table users add column profile_image_key varchar(64);
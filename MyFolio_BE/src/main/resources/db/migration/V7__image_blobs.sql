@@ -0,0 +1,16 @@
+create table image_blobs (
+    hash varchar(64) not null,
+    extension varchar(8) not null,
+    size bigint not null,
+    ref_count integer not null,
+    created_at datetime(6) not null,
+    released_at datetime(6),
+    primary key (hash)
+) engine=InnoDB;
+
+create index idx_image_blobs_released_at on image_blobs (released_at);
+
+alter table users add column profile_image_hash varchar(64);
+
+alter table users add constraint fk_users_profile_image_hash
+    foreign key (profile_image_hash) references image_blobs (hash);
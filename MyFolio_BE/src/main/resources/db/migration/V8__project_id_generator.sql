@@ -0,0 +1,11 @@
+-- Project ids come from a pooled table generator instead of auto_increment, so
+-- Hibernate can batch inserts. Each row holds the high end of the last allocated
+-- block; start the first block right after the existing ids.
+create table id_generators (
+    name varchar(255) not null,
+    next_val bigint,
+    primary key (name)
+) engine=InnoDB;
+
+insert into id_generators (name, next_val)
+select 'projects', coalesce(max(id), 0) + 50 from projects;
@@ -0,0 +1,115 @@
+package com.bluecyber.MyFolio_BE;
+
+import com.bluecyber.MyFolio_BE.dto.ProjectRequest;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import com.bluecyber.MyFolio_BE.security.JwtService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Locale;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Users, tokens and projects for the integration tests. Being a component of the
+ * test sources, it is part of every test application context; the methods that
+ * call the API need a context with {@code @AutoConfigureMockMvc}.
+ */
+@Component
+public class TestFixtures {
+
+    private final UserRepository userRepository;
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<MockMvc> mockMvc;
+
+    public TestFixtures(UserRepository userRepository, JwtService jwtService, ObjectMapper objectMapper,
+                        ObjectProvider<MockMvc> mockMvc) {
+        this.userRepository = userRepository;
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.mockMvc = mockMvc;
+    }
+
+    /**
+     * Unsaved user with a unique email and a password nobody signs in with.
+     */
+    public static User.UserBuilder newUser(String name) {
+        String local = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        return User.builder()
+                .name(name)
+                .email(local + "-" + System.nanoTime() + "@example.com")
+                .password("not-used");
+    }
+
+    /**
+     * Saved user with a verified email.
+     */
+    public User user(String name) {
+        return user(name, true);
+    }
+
+    public User user(String name, boolean verified) {
+        return userRepository.save(newUser(name).emailVerified(verified).build());
+    }
+
+    /**
+     * Authorization header value for the user.
+     */
+    public String token(User user) {
+        return "Bearer " + jwtService.generateToken(user);
+    }
+
+    /**
+     * Adds a project through the API, as a client would, and returns its id.
+     */
+    public Long addProject(User owner, String name) throws Exception {
+        return addProject(owner, ProjectRequest.builder().name(name).build());
+    }
+
+    public Long addProject(User owner, ProjectRequest project) throws Exception {
+        String response = mockMvc.getObject().perform(post("/api/user/projects")
+                        .header("Authorization", token(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(project)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    /**
+     * Performs a request that must succeed and reads its JSON body; {@code params}
+     * are further name/value pairs.
+     */
+    public JsonNode getJson(MockHttpServletRequestBuilder request, String... params) throws Exception {
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        String response = mockMvc.getObject().perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    /**
+     * Waits for the image pipeline to replace the user's upload with resized
+     * variants and returns the user as it was then.
+     */
+    public User awaitProcessedImage(Long userId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            User current = userRepository.findById(userId).orElseThrow();
+            if (current.getProfileImageKey() != null) {
+                return current;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Profile image was not processed in time");
+    }
+}
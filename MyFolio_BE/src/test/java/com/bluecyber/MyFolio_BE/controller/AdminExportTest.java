@@ -0,0 +1,129 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.TestFixtures;
+import com.bluecyber.MyFolio_BE.entity.Project;
+import com.bluecyber.MyFolio_BE.entity.Role;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.repository.ProjectRepository;
+import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private String adminToken;
+    private User withProjects;
+    private User withoutProjects;
+
+    @BeforeEach
+    void setUp() {
+        User admin = userRepository.save(TestFixtures.newUser("admin").emailVerified(true).role(Role.ADMIN).build());
+        adminToken = fixtures.token(admin);
+        withProjects = fixtures.user("exported");
+        projectRepository.save(Project.builder().name("First").demoUrl("https://first.example.com").user(withProjects).build());
+        projectRepository.save(Project.builder().name("Second").user(withProjects).build());
+        withoutProjects = fixtures.user("empty");
+    }
+
+    @Test
+    void exportsEveryUserWithTheirProjectsOnePerLine() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/admin/export/portfolios").header("Authorization", adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andReturn();
+
+        assertExported(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void gzipsWhenAccepted() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/admin/export/portfolios")
+                        .header("Authorization", adminToken)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertExported(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void requiresAdminRole() throws Exception {
+        mockMvc.perform(get("/api/admin/export/portfolios")
+                        .header("Authorization", fixtures.token(withProjects)))
+                .andExpect(status().isForbidden());
+    }
+
+    private void assertExported(String body) throws IOException {
+        assertThat(body).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertThat(lines).extracting(line -> line.get("id").asLong()).isSorted();
+
+        JsonNode exported = find(lines, withProjects);
+        assertThat(exported.get("email").asText()).isEqualTo(withProjects.getEmail());
+        assertThat(exported.get("projects")).extracting(project -> project.get("name").asText() + " " + project.get("demoUrl").asText())
+                .containsExactlyInAnyOrder("First https://first.example.com", "Second null");
+        assertThat(exported.has("password")).isFalse();
+
+        assertThat(find(lines, withoutProjects).get("projects")).isEmpty();
+    }
+
+    private static JsonNode find(List<JsonNode> lines, User user) {
+        return lines.stream()
+                .filter(line -> line.get("id").asLong() == user.getId())
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("user " + user.getId() + " not exported"));
+    }
+}
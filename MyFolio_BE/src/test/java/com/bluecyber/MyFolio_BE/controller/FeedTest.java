@@ -0,0 +1,116 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.TestFixtures;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.service.FeedService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bluecyber.MyFolio_BE.controller.StatementBudget.statementsAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FeedTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FeedService feedService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void projectChangesMoveThePortfolioToTheFront() throws Exception {
+        User first = fixtures.user("Feeder");
+        User second = fixtures.user("Feeder");
+        Long projectId = fixtures.addProject(second, "Compiler");
+        fixtures.addProject(first, "Tracker");
+
+        JsonNode top = feed().get("items");
+        assertThat(top.get(0).get("userId").asLong()).isEqualTo(first.getId());
+        assertThat(top.get(0).get("latestProjectName").asText()).isEqualTo("Tracker");
+        assertThat(top.get(1).get("userId").asLong()).isEqualTo(second.getId());
+        assertThat(top.get(1).get("latestProjectId").asLong()).isEqualTo(projectId);
+
+        mockMvc.perform(delete("/api/user/projects/{projectId}", projectId).header("Authorization", fixtures.token(second)))
+                .andExpect(status().isOk());
+        top = feed().get("items");
+        assertThat(top.get(0).get("userId").asLong()).isEqualTo(second.getId());
+        assertThat(top.get(0).get("latestProjectId").isNull()).isTrue();
+    }
+
+    @Test
+    void profileChangesAreShownAndUnverifiedUsersAreNot() throws Exception {
+        User verified = fixtures.user("Feeder");
+        User unverified = fixtures.user("Feeder", false);
+        mockMvc.perform(put("/api/user/profile")
+                        .header("Authorization", fixtures.token(verified))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Feed Star\",\"jobTitle\":\"Designer\"}"))
+                .andExpect(status().isOk());
+        fixtures.addProject(unverified, "Hidden");
+
+        JsonNode entry = feed().get("items").get(0);
+        assertThat(entry.get("userId").asLong()).isEqualTo(verified.getId());
+        assertThat(entry.get("name").asText()).isEqualTo("Feed Star");
+        assertThat(entry.get("jobTitle").asText()).isEqualTo("Designer");
+        assertThat(userIds(feed("size", "50"))).doesNotContain(unverified.getId());
+    }
+
+    @Test
+    void pagesWithCursorsAndMatchesARebuild() throws Exception {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User user = fixtures.user("Feeder");
+            fixtures.addProject(user, "Project " + i);
+            expected.add(0, user.getId());
+        }
+
+        JsonNode first = feed("size", "2");
+        JsonNode second = feed("size", "2", "cursor", first.get("nextCursor").asText());
+        List<Long> seen = userIds(first);
+        seen.addAll(userIds(second));
+        assertThat(seen.subList(0, 3)).isEqualTo(expected);
+        assertThat(second.get("nextCursor").isNull()).isFalse();
+
+        feedService.rebuild();
+        assertThat(userIds(feed("size", "3"))).isEqualTo(expected);
+
+        mockMvc.perform(get("/api/feed").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(0));
+    }
+
+    @Test
+    void rejectsBadRequests() throws Exception {
+        mockMvc.perform(get("/api/feed").param("size", "51")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/feed").param("cursor", "not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    private JsonNode feed(String... params) throws Exception {
+        return fixtures.getJson(get("/api/feed"), params);
+    }
+
+    private static List<Long> userIds(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.get("items").forEach(item -> ids.add(item.get("userId").asLong()));
+        return ids;
+    }
+}
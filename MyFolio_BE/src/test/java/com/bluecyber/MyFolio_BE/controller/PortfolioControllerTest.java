@@ -0,0 +1,118 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.TestFixtures;
+import com.bluecyber.MyFolio_BE.entity.Project;
+import com.bluecyber.MyFolio_BE.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PortfolioControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Statistics statistics;
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = fixtures.user("Portfolio Owner");
+        token = fixtures.token(user);
+    }
+
+    @Test
+    void repeatedViewsAreServedFromCache() throws Exception {
+        mockMvc.perform(get("/api/portfolio/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Portfolio Owner"))
+                .andExpect(jsonPath("$.projects").isEmpty());
+
+        statistics.clear();
+        mockMvc.perform(get("/api/portfolio/{userId}", user.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void writesInvalidateTheCachedPortfolio() throws Exception {
+        mockMvc.perform(get("/api/portfolio/{userId}", user.getId()))
+                .andExpect(jsonPath("$.projects").isEmpty());
+
+        mockMvc.perform(post("/api/user/projects")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Cached Project\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/portfolio/{userId}", user.getId()))
+                .andExpect(jsonPath("$.projects[0].name").value("Cached Project"));
+
+        mockMvc.perform(put("/api/user/profile")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\",\"jobTitle\":\"Engineer\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/portfolio/{userId}", user.getId()))
+                .andExpect(jsonPath("$.name").value("Renamed"))
+                .andExpect(jsonPath("$.jobTitle").value("Engineer"));
+    }
+
+    @Test
+    void unchangedPortfolioRevalidatesWithNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/portfolio/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        statistics.clear();
+        mockMvc.perform(get("/api/portfolio/{userId}", user.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/user/projects/{userId}", user.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        assertThat(statistics.getEntityStatistics(Project.class.getName()).getLoadCount()).isEqualTo(0);
+
+        mockMvc.perform(post("/api/user/projects")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"New Project\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/portfolio/{userId}", user.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    @Test
+    void unknownUserIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/portfolio/{userId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,122 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.TestFixtures;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import com.bluecyber.MyFolio_BE.service.ImageBlobStore;
+import com.bluecyber.MyFolio_BE.service.ImageUploadReceiver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The image pipeline updates the user in the background, so it can change the
+ * row while an upload request is running. The hooks below make that happen at
+ * fixed points of the request.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProfileImageConflictTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoSpyBean
+    private ImageUploadReceiver imageUploadReceiver;
+
+    @MockitoSpyBean
+    private ImageBlobStore imageBlobStore;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user("Conflict");
+        token = fixtures.token(user);
+    }
+
+    @Test
+    void changeWhileTheBodyIsReceivedDoesNotFailTheUpload() throws Exception {
+        doAnswer(invocation -> {
+            Object upload = invocation.callRealMethod();
+            changeUserElsewhere();
+            return upload;
+        }).when(imageUploadReceiver).receive(any(), anyLong(), anyLong(), any());
+
+        mockMvc.perform(put("/api/user/profile/image")
+                        .contentType("image/png")
+                        .content(png())
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+
+        User updated = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(updated.getProfileImage()).isNotNull();
+        assertThat(updated.getBio()).startsWith("Changed elsewhere");
+    }
+
+    @Test
+    void changeInsideTheWriteIsAConflict() throws Exception {
+        doAnswer(invocation -> {
+            Object stored = invocation.callRealMethod();
+            changeUserElsewhere();
+            return stored;
+        }).when(imageBlobStore).put(any(), anyString(), anyString(), anyLong());
+
+        mockMvc.perform(put("/api/user/profile/image")
+                        .contentType("image/png")
+                        .content(png())
+                        .header("Authorization", token))
+                .andExpect(status().isConflict());
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getProfileImage()).isNull();
+    }
+
+    /**
+     * Commits a change to the user from another thread, as the image pipeline
+     * does. The request thread holds its own persistence context, so the change
+     * is only visible to it through the database.
+     */
+    private void changeUserElsewhere() {
+        TransactionTemplate separate = new TransactionTemplate(transactionManager);
+        CompletableFuture.runAsync(() -> separate.executeWithoutResult(status ->
+                userRepository.findById(user.getId()).orElseThrow().setBio("Changed elsewhere " + System.nanoTime())))
+                .join();
+    }
+
+    private static byte[] png() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(120, 80, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,245 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.TestFixtures;
+import com.bluecyber.MyFolio_BE.dto.ProfileImageVariants;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.repository.ImageBlobRepository;
+import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import com.bluecyber.MyFolio_BE.service.ImageBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProfileImageUploadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ImageBlobRepository imageBlobRepository;
+
+    @Autowired
+    private ImageBlobStore imageBlobStore;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Value("${profile-images.directory}")
+    private String directory;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user("Image Owner");
+        token = fixtures.token(user);
+    }
+
+    @Test
+    void uploadIsServedAsOriginalThenReplacedByResizedVariants() throws Exception {
+        mockMvc.perform(multipart("/api/user/profile/image")
+                        .file(new MockMultipartFile("file", "avatar.png", "image/png", png(2000, 1500)))
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profileImage").value(endsWith(".png")))
+                .andExpect(jsonPath("$.profileImageUrls").isEmpty());
+
+        User processed = awaitProcessed();
+        String key = processed.getProfileImageKey();
+        assertThat(processed.getProfileImage()).isEqualTo(ProfileImageVariants.fileName(key, 1024));
+        assertThat(Files.exists(Paths.get(directory, ProfileImageVariants.originalName(key, ".png")))).isTrue();
+        for (int width : ProfileImageVariants.WIDTHS) {
+            BufferedImage variant = ImageIO.read(Paths.get(directory, ProfileImageVariants.fileName(key, width)).toFile());
+            assertThat(variant.getWidth()).isEqualTo(width);
+            assertThat(variant.getHeight()).isEqualTo(width * 3 / 4);
+        }
+        Path small = Paths.get(directory, ProfileImageVariants.fileName(key, 64));
+        assertThat(Files.size(small)).isLessThan(8 * 1024);
+    }
+
+    @Test
+    void tallNarrowUploadIsScaledByItsHeight() throws Exception {
+        BufferedImage tall = new BufferedImage(1000, 40000, BufferedImage.TYPE_BYTE_BINARY);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(tall, "png", out);
+
+        mockMvc.perform(put("/api/user/profile/image")
+                        .contentType("image/png")
+                        .content(out.toByteArray())
+                        .header("Authorization", token))
+                .andExpect(status().isOk());
+
+        String key = awaitProcessed().getProfileImageKey();
+        for (int width : ProfileImageVariants.WIDTHS) {
+            BufferedImage variant = ImageIO.read(Paths.get(directory, ProfileImageVariants.fileName(key, width)).toFile());
+            assertThat(variant.getHeight()).isEqualTo(ProfileImageVariants.maxHeight(width));
+            assertThat(variant.getWidth()).isLessThan(width / 8);
+        }
+    }
+
+    @Test
+    void editsAndUploadsWhileAnImageIsProcessedSucceed() throws Exception {
+        // Each request re-reads the user the background processing may just have updated
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(multipart("/api/user/profile/image")
+                            .file(new MockMultipartFile("file", "avatar.png", "image/png", png(1200, 900)))
+                            .header("Authorization", token))
+                    .andExpect(status().isOk());
+            mockMvc.perform(put("/api/user/profile")
+                            .header("Authorization", token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"Edit " + i + "\"}"))
+                    .andExpect(status().isOk());
+        }
+
+        User processed = awaitProcessed();
+        assertThat(processed.getName()).isEqualTo("Edit 2");
+    }
+
+    @Test
+    void rejectsFilesThatAreNotImages() throws Exception {
+        mockMvc.perform(multipart("/api/user/profile/image")
+                        .file(new MockMultipartFile("file", "avatar.jpg", "image/jpeg", "not an image".getBytes()))
+                        .header("Authorization", token))
+                .andExpect(status().isBadRequest());
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getProfileImage()).isNull();
+    }
+
+    @Test
+    void streamedUploadReturnsDigestOfReceivedBytes() throws Exception {
+        byte[] image = png(300, 200);
+        String digest = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(image));
+
+        mockMvc.perform(put("/api/user/profile/image")
+                        .contentType("image/png")
+                        .content(image)
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Repr-Digest", "sha-256=:" + digest + ":"))
+                .andExpect(jsonPath("$.profileImage").value(endsWith(".png")));
+
+        awaitProcessed();
+    }
+
+    @Test
+    void streamedUploadRejectsContentThatIsNotAnImage() throws Exception {
+        mockMvc.perform(put("/api/user/profile/image")
+                        .contentType("image/png")
+                        .content("<?php echo 'hello'; ?>".getBytes())
+                        .header("Authorization", token))
+                .andExpect(status().isUnsupportedMediaType());
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getProfileImage()).isNull();
+        assertNoPartialFiles();
+    }
+
+    @Test
+    void streamedUploadRejectsOversizedBodies() throws Exception {
+        byte[] image = Arrays.copyOf(png(10, 10), 10 * 1024 * 1024 + 1);
+
+        mockMvc.perform(put("/api/user/profile/image")
+                        .contentType("image/png")
+                        .content(image)
+                        .header("Authorization", token))
+                .andExpect(status().isPayloadTooLarge());
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getProfileImage()).isNull();
+        assertNoPartialFiles();
+    }
+
+    @Test
+    void identicalUploadsShareOneBlobThatIsReclaimedOnceUnreferenced() throws Exception {
+        byte[] image = png(320, 240);
+        User other = fixtures.user("Other Owner");
+        String otherToken = fixtures.token(other);
+
+        for (String auth : new String[]{token, otherToken}) {
+            mockMvc.perform(put("/api/user/profile/image").contentType("image/png").content(image).header("Authorization", auth))
+                    .andExpect(status().isOk());
+        }
+        String hash = awaitProcessed().getProfileImageHash();
+        assertThat(userRepository.findById(other.getId()).orElseThrow().getProfileImageHash()).isEqualTo(hash);
+        assertThat(imageBlobRepository.findById(hash).orElseThrow().getRefCount()).isEqualTo(2);
+
+        String variantUrl = ProfileImageVariants.urls(hash).get("64");
+        mockMvc.perform(get(variantUrl))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("immutable")));
+
+        for (String auth : new String[]{token, otherToken}) {
+            mockMvc.perform(delete("/api/user/profile/image").header("Authorization", auth))
+                    .andExpect(status().isOk());
+        }
+        assertThat(imageBlobRepository.findById(hash).orElseThrow().getRefCount()).isZero();
+        Path original = Paths.get(directory, ProfileImageVariants.originalName(hash, ".png"));
+        assertThat(Files.exists(original)).isTrue();
+
+        imageBlobStore.collectGarbage(Instant.now().plusSeconds(1));
+
+        assertThat(imageBlobRepository.existsById(hash)).isFalse();
+        assertThat(Files.exists(original)).isFalse();
+        assertThat(Files.exists(Paths.get(directory, ProfileImageVariants.fileName(hash, 64)))).isFalse();
+    }
+
+    private void assertNoPartialFiles() throws Exception {
+        Path dir = Paths.get(directory);
+        if (Files.exists(dir)) {
+            try (var files = Files.list(dir)) {
+                assertThat(files.filter(f -> f.toString().endsWith(".part"))).isEmpty();
+            }
+        }
+    }
+
+    private User awaitProcessed() throws InterruptedException {
+        return fixtures.awaitProcessedImage(user.getId());
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y += 10) {
+            for (int x = 0; x < width; x += 10) {
+                image.setRGB(x, y, 0xFF000000 | (x * 255 / width) << 16 | (y * 255 / height) << 8);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,131 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.TestFixtures;
+import com.bluecyber.MyFolio_BE.dto.ProjectBundle;
+import com.bluecyber.MyFolio_BE.dto.ProjectRequest;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.repository.ProjectRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.bluecyber.MyFolio_BE.controller.StatementBudget.statementsAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProjectImportTest {
+
+    // Three insert batches at hibernate.jdbc.batch_size 50
+    private static final int ROWS = 120;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user("Importer");
+        token = fixtures.token(user);
+    }
+
+    @Test
+    void importRunsOneStatementPerBatchNotPerRow() throws Exception {
+        List<ProjectRequest> rows = IntStream.range(0, ROWS)
+                .mapToObj(i -> ProjectRequest.builder()
+                        .name("Imported " + i)
+                        .repositoryUrl("https://github.com/example/project-" + i)
+                        .build())
+                .toList();
+
+        // Id blocks (2 each), insert batches, the user version bump, and one read
+        // each to update search and the feed
+        mockMvc.perform(post("/api/user/projects/bulk")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProjectBundle(rows))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(ROWS)))
+                .andExpect(statementsAtMost(13));
+
+        assertThat(projectRepository.findSummariesByUserId(user.getId())).hasSize(ROWS);
+    }
+
+    @Test
+    void invalidRowRejectsTheWholeImport() throws Exception {
+        String body = objectMapper.writeValueAsString(new ProjectBundle(List.of(
+                ProjectRequest.builder().name("Fine").build(),
+                ProjectRequest.builder().name("Broken").demoUrl("not a url").build())));
+
+        mockMvc.perform(post("/api/user/projects/bulk")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("projects[1].demoUrl")));
+
+        mockMvc.perform(post("/api/user/projects/bulk")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"projects\":[{\"name\":\"Fine\"},{\"name\":\"\"}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.debugMessage", containsString("projects[1].name")));
+
+        assertThat(projectRepository.findSummariesByUserId(user.getId())).isEmpty();
+    }
+
+    @Test
+    void exportCanBeImportedAgain() throws Exception {
+        String body = objectMapper.writeValueAsString(new ProjectBundle(List.of(
+                ProjectRequest.builder().name("One").demoUrl("https://one.example.com").description("First").build(),
+                ProjectRequest.builder().name("Two").repositoryUrl("https://github.com/example/two").build())));
+        mockMvc.perform(post("/api/user/projects/bulk")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+
+        String exported = mockMvc.perform(get("/api/user/projects/export").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(objectMapper.readTree(exported)).isEqualTo(objectMapper.readTree(body));
+    }
+
+    @Test
+    void importAndExportRequireSignIn() throws Exception {
+        mockMvc.perform(post("/api/user/projects/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"projects\":[]}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/user/projects/export"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,135 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.TestFixtures;
+import com.bluecyber.MyFolio_BE.entity.Project;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.repository.ProjectRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProjectPageTest {
+
+    private static final int PROJECT_COUNT = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private User user;
+    private List<Project> projects;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user("Pager");
+        projects = new ArrayList<>();
+        for (int i = 0; i < PROJECT_COUNT; i++) {
+            // Repeated names exercise the id tie-breaker
+            projects.add(projectRepository.save(Project.builder().name("Project " + (i * 7 % 10)).user(user).build()));
+        }
+    }
+
+    @Test
+    void newestPagesCoverEveryProjectOnceInCreationOrder() throws Exception {
+        // Instances draw ids from separate blocks, so a higher id can be older
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        Map<Long, Instant> createdAt = new HashMap<>();
+        for (int i = 0; i < PROJECT_COUNT; i++) {
+            // Repeated times exercise the id tie-breaker
+            Instant created = base.plusSeconds(i * 3 % 10);
+            createdAt.put(projects.get(i).getId(), created);
+            jdbcTemplate.update("update projects set created_at = ? where id = ?",
+                    Timestamp.from(created), projects.get(i).getId());
+        }
+        List<Long> expected = projects.stream()
+                .map(Project::getId)
+                .sorted(Comparator.comparing((Long id) -> createdAt.get(id)).thenComparing(id -> id).reversed())
+                .toList();
+
+        assertThat(pageThrough("newest")).isEqualTo(expected);
+    }
+
+    @Test
+    void namePagesCoverEveryProjectOnceInNameOrder() throws Exception {
+        List<Long> expected = projects.stream()
+                .sorted(Comparator.comparing(Project::getName).thenComparing(Project::getId))
+                .map(Project::getId)
+                .toList();
+
+        assertThat(pageThrough("name")).isEqualTo(expected);
+    }
+
+    @Test
+    void rejectsOversizedPagesAndForeignCursors() throws Exception {
+        mockMvc.perform(get("/api/user/projects/{userId}/page", user.getId()).param("size", "1000"))
+                .andExpect(status().isBadRequest());
+
+        String nameCursor = read(page("name", null)).get("nextCursor").asText();
+        mockMvc.perform(page("newest", nameCursor))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(page("newest", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> pageThrough(String sort) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JsonNode page = read(page(sort, cursor));
+            page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+        assertThat(pages).isEqualTo(3);
+        return ids;
+    }
+
+    private MockHttpServletRequestBuilder page(String sort, String cursor) {
+        MockHttpServletRequestBuilder request = get("/api/user/projects/{userId}/page", user.getId())
+                .param("size", "10")
+                .param("sort", sort);
+        return cursor != null ? request.param("cursor", cursor) : request;
+    }
+
+    private JsonNode read(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
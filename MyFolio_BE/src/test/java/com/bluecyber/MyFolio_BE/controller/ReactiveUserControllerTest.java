@@ -0,0 +1,125 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.TestFixtures;
+import com.bluecyber.MyFolio_BE.dto.ProjectRequest;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.repository.ReactivePortfolioRepository;
+import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveUserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @MockitoSpyBean
+    private ReactivePortfolioRepository portfolioRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        user = userRepository.save(TestFixtures.newUser("Reactive Reader").jobTitle("Engineer").emailVerified(true).build());
+        for (String name : new String[]{"First", "Second"}) {
+            fixtures.addProject(user, ProjectRequest.builder().name(name).description("About " + name).build());
+        }
+    }
+
+    @Test
+    void responsesMatchTheBlockingEndpoints() throws Exception {
+        for (String resource : new String[]{"profile", "projects"}) {
+            MvcResult blocking = mockMvc.perform(get("/api/user/{resource}/{userId}", resource, user.getId()))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            MvcResult reactive = performAsync(get("/api/rx/user/{resource}/{userId}", resource, user.getId()))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            assertThat(reactive.getResponse().getContentAsString())
+                    .isEqualTo(blocking.getResponse().getContentAsString());
+            assertThat(reactive.getResponse().getHeader("ETag"))
+                    .isEqualTo(blocking.getResponse().getHeader("ETag"));
+            assertThat(reactive.getResponse().getHeader("Last-Modified"))
+                    .isEqualTo(blocking.getResponse().getHeader("Last-Modified"));
+        }
+    }
+
+    @Test
+    void unchangedResourcesRevalidateWithNotModified() throws Exception {
+        String etag = performAsync(get("/api/rx/user/projects/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        performAsync(get("/api/rx/user/projects/{userId}", user.getId()).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        performAsync(get("/api/rx/user/profile/{userId}", user.getId()).header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unchangedResourcesRevalidateByDateWithNotModified() throws Exception {
+        for (String resource : new String[]{"profile", "projects"}) {
+            String lastModified = performAsync(get("/api/rx/user/{resource}/{userId}", resource, user.getId()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("Last-Modified");
+            assertThat(lastModified).isNotNull();
+            clearInvocations(portfolioRepository);
+
+            performAsync(get("/api/rx/user/{resource}/{userId}", resource, user.getId())
+                    .header("If-Modified-Since", lastModified))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("Last-Modified", lastModified));
+            // Answered from the user's version row alone
+            verify(portfolioRepository, never()).findSummariesByUserId(any());
+            performAsync(get("/api/rx/user/{resource}/{userId}", resource, user.getId())
+                    .header("If-Modified-Since", "Thu, 01 Jan 2015 00:00:00 GMT"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void unknownUserIsNotFound() throws Exception {
+        performAsync(get("/api/rx/user/profile/{userId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+        performAsync(get("/api/rx/user/projects/{userId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
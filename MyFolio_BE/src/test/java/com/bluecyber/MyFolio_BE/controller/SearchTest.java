@@ -0,0 +1,192 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.TestFixtures;
+import com.bluecyber.MyFolio_BE.dto.ProjectRequest;
+import com.bluecyber.MyFolio_BE.entity.Project;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.repository.ProjectRepository;
+import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import com.bluecyber.MyFolio_BE.service.SearchService;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${search.index.rebuild-batch-size}")
+    private int rebuildBatchSize;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private User user;
+    private String token;
+    // Made-up word unique to each test, so other tests' data never matches
+    private String word;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user("Searcher");
+        token = fixtures.token(user);
+        word = "kestrel" + System.nanoTime();
+    }
+
+    @Test
+    void nameMatchesRankAboveDescriptionMatches() throws Exception {
+        Long inDescription = addProject("Scheduler", "A scheduler written for the " + word + " team");
+        Long inName = addProject(word + " compiler", "Compiles things");
+
+        assertThat(ids(search(word))).containsExactly(inName, inDescription);
+        assertThat(ids(search(word + " compiler"))).containsExactly(inName);
+    }
+
+    @Test
+    void updatesAndDeletesReachTheIndex() throws Exception {
+        Long projectId = addProject(word + " tracker", null);
+
+        mockMvc.perform(put("/api/user/projects/{projectId}", projectId)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed tracker\"}"))
+                .andExpect(status().isOk());
+        assertThat(ids(search(word))).isEmpty();
+        assertThat(ids(search("\"renamed tracker\"", "type", "project"))).contains(projectId);
+
+        mockMvc.perform(put("/api/user/projects/{projectId}", projectId)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + word + " tracker\"}"))
+                .andExpect(status().isOk());
+        assertThat(ids(search(word))).containsExactly(projectId);
+
+        mockMvc.perform(delete("/api/user/projects/{projectId}", projectId).header("Authorization", token))
+                .andExpect(status().isOk());
+        assertThat(ids(search(word))).isEmpty();
+    }
+
+    @Test
+    void profilesAreSearchableByJobTitleAndFilteredByType() throws Exception {
+        mockMvc.perform(put("/api/user/profile")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Searcher\",\"jobTitle\":\"" + word + " engineer\"}"))
+                .andExpect(status().isOk());
+        Long projectId = addProject(word + " portfolio", null);
+
+        JsonNode users = search(word, "type", "user");
+        assertThat(ids(users)).containsExactly(user.getId());
+        assertThat(users.get("items").get(0).get("detail").asText()).isEqualTo(word + " engineer");
+        assertThat(ids(search(word, "type", "project"))).containsExactly(projectId);
+        assertThat(ids(search(word))).hasSize(2);
+    }
+
+    @Test
+    void rebuildIndexesOnlyVerifiedUsers() throws Exception {
+        User unverified = fixtures.user("Searcher", false);
+        Project hidden = projectRepository.save(Project.builder().name(word + " hidden").user(unverified).build());
+        Project visible = projectRepository.save(Project.builder().name(word + " visible").user(user).build());
+
+        searchService.rebuild();
+
+        assertThat(ids(search(word))).containsExactly(visible.getId());
+        assertThat(ids(search(word + " hidden"))).doesNotContain(hidden.getId());
+    }
+
+    @Test
+    void rebuildReadsInBatchesInsteadOfOneLargeResult() throws Exception {
+        for (int i = 0; i <= rebuildBatchSize; i++) {
+            userRepository.save(TestFixtures.newUser("Batch " + i).jobTitle(word + " " + i).emailVerified(true).build());
+            addProject(word + " " + i, null);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        searchService.rebuild();
+
+        assertThat(statistics.getQueries()).isNotEmpty();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics batches = statistics.getQueryStatistics(query);
+            assertThat(batches.getExecutionCount()).as(query).isGreaterThan(1);
+            assertThat(batches.getExecutionRowCount()).as(query)
+                    .isLessThanOrEqualTo(batches.getExecutionCount() * rebuildBatchSize);
+        }
+        assertThat(ids(search(word, "type", "user"))).hasSize(rebuildBatchSize + 1);
+        assertThat(ids(search(word, "type", "project"))).hasSize(rebuildBatchSize + 1);
+    }
+
+    @Test
+    void pagesThroughResults() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            addProject(word + " " + i, null);
+        }
+
+        JsonNode first = search(word, "size", "2");
+        assertThat(first.get("items")).hasSize(2);
+        assertThat(first.get("total").asLong()).isEqualTo(3);
+        assertThat(first.get("hasMore").asBoolean()).isTrue();
+
+        JsonNode second = search(word, "size", "2", "page", "1");
+        assertThat(second.get("items")).hasSize(1);
+        assertThat(second.get("hasMore").asBoolean()).isFalse();
+    }
+
+    @Test
+    void rejectsBadRequests() throws Exception {
+        mockMvc.perform(get("/api/search").param("q", " ")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/search").param("q", word).param("size", "51")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/search").param("q", word).param("page", "50")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/search").param("q", word).param("type", "blog")).andExpect(status().isBadRequest());
+    }
+
+    private Long addProject(String name, String description) throws Exception {
+        return fixtures.addProject(user, ProjectRequest.builder().name(name).description(description).build());
+    }
+
+    private JsonNode search(String q, String... params) throws Exception {
+        return fixtures.getJson(get("/api/search").param("q", q), params);
+    }
+
+    private static List<Long> ids(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+}
@@ -0,0 +1,34 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.jdbc.StatementCountFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * MockMvc expectation on the number of JDBC statements a request ran, as counted by
+ * {@link StatementCountFilter}. Fails with the statements themselves, so an N+1
+ * shows up in the test output.
+ */
+final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    static ResultMatcher statementsAtMost(int budget) {
+        return result -> {
+            Integer count = (Integer) result.getRequest().getAttribute(StatementCountFilter.COUNT_ATTRIBUTE);
+            assertThat(count).as("statement count of the request").isNotNull();
+            if (count > budget) {
+                @SuppressWarnings("unchecked")
+                List<String> statements = (List<String>) result.getRequest().getAttribute(StatementCountFilter.STATEMENTS_ATTRIBUTE);
+                fail(String.format("%s %s ran %d statements, budget is %d:%n  %s",
+                        result.getRequest().getMethod(), result.getRequest().getRequestURI(), count, budget,
+                        String.join("\n  ", statements)));
+            }
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import com.bluecyber.MyFolio_BE.TestFixtures;
+import com.bluecyber.MyFolio_BE.entity.Project;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.bluecyber.MyFolio_BE.controller.StatementBudget.statementsAtMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets for the user and portfolio endpoints, with enough projects that
+ * a per-project query would blow the budget. Caches are cold for each new user.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatementBudgetTest {
+
+    private static final int PROJECTS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private User user;
+    private String token;
+    private List<Project> projects;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user("Budget");
+        token = fixtures.token(user);
+        projects = new ArrayList<>();
+        for (int i = 0; i < PROJECTS; i++) {
+            projects.add(projectRepository.save(Project.builder().name("Project " + i).user(user).build()));
+        }
+    }
+
+    @Test
+    void publicReads() throws Exception {
+        mockMvc.perform(get("/api/user/profile/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+        mockMvc.perform(get("/api/user/projects/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2));
+        mockMvc.perform(get("/api/user/projects/{userId}/page", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+        mockMvc.perform(get("/api/portfolio/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2));
+    }
+
+    @Test
+    void ownReads() throws Exception {
+        mockMvc.perform(get("/api/user/profile/me").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+        mockMvc.perform(get("/api/user/projects/me").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+    }
+
+    @Test
+    void profileWrites() throws Exception {
+        mockMvc.perform(put("/api/user/profile")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed\",\"jobTitle\":\"Engineer\"}"))
+                .andExpect(status().isOk())
+                // Plus one each to update search and the feed
+                .andExpect(statementsAtMost(4));
+    }
+
+    @Test
+    void projectWrites() throws Exception {
+        mockMvc.perform(post("/api/user/projects")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"New\"}"))
+                .andExpect(status().isOk())
+                // Two more when the insert starts a new block of project ids
+                .andExpect(statementsAtMost(5));
+        mockMvc.perform(put("/api/user/projects/{projectId}", projects.get(0).getId())
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Updated\"}"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(4));
+        mockMvc.perform(delete("/api/user/projects/{projectId}", projects.get(1).getId())
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(4));
+    }
+}
@@ -0,0 +1,111 @@
+package com.bluecyber.MyFolio_BE.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UploadControllerTest {
+
+    private static final String HASH = "0123456789abcdef".repeat(4);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${profile-images.directory}")
+    private String directory;
+
+    private final byte[] content = new byte[1000];
+    private String url;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path file = Paths.get(directory, "01/23", HASH + "-64.jpg");
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+        url = "/uploads/profile-images/01/23/" + HASH + "-64.jpg";
+    }
+
+    @Test
+    void servesContentAddressedImagesAsImmutable() throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "image/jpeg"))
+                .andExpect(header().string("Content-Length", "1000"))
+                .andExpect(header().string("ETag", "\"" + HASH + "-64\""))
+                .andExpect(header().string("Cache-Control", containsString("immutable")))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(content().bytes(content));
+
+        mockMvc.perform(get(url).header("If-None-Match", "\"" + HASH + "-64\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        mockMvc.perform(head(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Length", "1000"))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void servesSingleByteRanges() throws Exception {
+        mockMvc.perform(get(url).header("Range", "bytes=100-199"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 100-199/1000"))
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 100, 200)));
+
+        mockMvc.perform(get(url).header("Range", "bytes=-10"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(content, 990, 1000)));
+
+        mockMvc.perform(get(url).header("Range", "bytes=5000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */1000"));
+
+        // Stale If-Range: the whole, current representation
+        mockMvc.perform(get(url).header("Range", "bytes=0-9").header("If-Range", "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(content));
+    }
+
+    @Test
+    void servesLegacyNamesWithShortCachingAndRejectsOtherPaths() throws Exception {
+        String legacy = UUID.randomUUID() + ".png";
+        Files.write(Paths.get(directory, legacy), content);
+
+        mockMvc.perform(get("/uploads/profile-images/" + legacy))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "image/png"))
+                .andExpect(header().string("Cache-Control", "max-age=3600, public"));
+
+        mockMvc.perform(get("/uploads/profile-images/incoming/" + legacy))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/uploads/profile-images/01/23/" + HASH + ".txt"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/uploads/profile-images/01/23/" + "ab".repeat(32) + "-64.jpg"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,42 @@
+package com.bluecyber.MyFolio_BE.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/projects"));
+
+    @Test
+    void poolTimeoutIsShedWithRetryAfter() {
+        var timeout = new SQLTransientConnectionException("HikariPool-1 - Connection is not available, request timed out after 250ms");
+
+        ResponseEntity<Object> response = handler.handleDatabaseUnavailable(
+                new CannotCreateTransactionException("Could not open JPA EntityManager for transaction", timeout), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void otherFailuresToBeginATransactionAreServerErrors() {
+        var refused = new SQLException("Access denied for user 'myfolio'");
+
+        ResponseEntity<Object> response = handler.handleDatabaseUnavailable(
+                new CannotCreateTransactionException("Could not open JPA EntityManager for transaction", refused), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(response.getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+    }
+}
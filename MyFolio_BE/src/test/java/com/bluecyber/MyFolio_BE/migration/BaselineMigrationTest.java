@@ -0,0 +1,56 @@
+package com.bluecyber.MyFolio_BE.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A database created by the application before migrations existed is baselined at
+ * V1 and must migrate to the current schema with its data intact.
+ */
+class BaselineMigrationTest {
+
+    @Test
+    void preMigrationDatabaseUpgradesFromTheBaseline() throws Exception {
+        String url = "jdbc:h2:mem:baseline-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+        // Keeps the in-memory database alive for the whole test
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            // V1 is the schema ddl-auto generated before migrations were introduced
+            statement.execute("runscript from 'classpath:db/migration/V1__baseline_schema.sql'");
+            statement.execute("""
+                    insert into users (name, email, password, email_verified, verification_token, verification_token_expiry)
+                    values ('Legacy', 'legacy@example.com', 'hash', false, 'pending-token', %d)"""
+                    .formatted(System.currentTimeMillis() + 3_600_000));
+            statement.execute("insert into projects (name, user_id) select 'Legacy project', id from users");
+
+            Flyway.configure()
+                    .dataSource(url, "sa", "")
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .javaMigrations(new V3__Move_user_tokens())
+                    .load()
+                    .migrate();
+
+            try (ResultSet user = statement.executeQuery("select version, created_at from users")) {
+                assertThat(user.next()).isTrue();
+                assertThat(user.getLong("version")).isZero();
+                assertThat(user.getTimestamp("created_at")).isNotNull();
+            }
+            try (ResultSet project = statement.executeQuery("select version from projects")) {
+                assertThat(project.next()).isTrue();
+                assertThat(project.getLong("version")).isZero();
+            }
+            try (ResultSet tokens = statement.executeQuery("select count(*) from one_time_tokens")) {
+                tokens.next();
+                assertThat(tokens.getInt(1)).isEqualTo(1);
+            }
+        }
+    }
+}
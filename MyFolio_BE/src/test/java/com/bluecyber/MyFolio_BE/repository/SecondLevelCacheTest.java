@@ -0,0 +1,77 @@
+package com.bluecyber.MyFolio_BE.repository;
+
+import com.bluecyber.MyFolio_BE.TestFixtures;
+import com.bluecyber.MyFolio_BE.entity.Project;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.event.ProjectChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = fixtures.user("Cached User");
+    }
+
+    @Test
+    void repeatedLookupsByIdAndEmailHitTheCache() {
+        userRepository.findById(user.getId()).orElseThrow();
+        userRepository.findByEmail(user.getEmail()).orElseThrow();
+
+        statistics.clear();
+        assertThat(userRepository.findById(user.getId())).isPresent();
+        assertThat(userRepository.findByEmail(user.getEmail())).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void projectsCollectionReflectsNewProjectsAfterEviction() {
+        assertThat(projectCount()).isZero();
+
+        var project = projectRepository.save(Project.builder().name("First").user(user).build());
+        eventPublisher.publishEvent(new ProjectChangedEvent(user.getId(), project.getId(), ProjectChangedEvent.ChangeType.CREATED));
+
+        assertThat(projectCount()).isEqualTo(1);
+    }
+
+    private int projectCount() {
+        return transactionTemplate.execute(status -> userRepository.findById(user.getId()).orElseThrow().getProjects().size());
+    }
+}
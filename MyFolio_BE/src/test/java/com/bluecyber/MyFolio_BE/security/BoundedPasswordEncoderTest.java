@@ -0,0 +1,72 @@
+package com.bluecyber.MyFolio_BE.security;
+
+import com.bluecyber.MyFolio_BE.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    void encodesAndMatchesOnTheHashingPool() {
+        encoder = new BoundedPasswordEncoder(4, 1, 4, Duration.ofSeconds(5), registry);
+
+        String encoded = encoder.encode("password123");
+
+        assertThat(encoder.matches("password123", encoded)).isTrue();
+        assertThat(encoder.matches("wrong", encoded)).isFalse();
+        assertThat(registry.get("password.hashing.duration").tag("operation", "encode").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failsFastWhenQueueIsFull() {
+        encoder = new BoundedPasswordEncoder(12, 1, 1, Duration.ofSeconds(30), registry);
+
+        List<CompletableFuture<String>> inFlight = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            inFlight.add(CompletableFuture.supplyAsync(() -> encoder.encode("password123")));
+        }
+        await(() -> registry.get("password.hashing.queue.size").gauge().value() == 1);
+
+        assertThatThrownBy(() -> encoder.encode("password123"))
+                .isInstanceOf(ServiceOverloadedException.class);
+        assertThat(registry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+        inFlight.forEach(CompletableFuture::join);
+    }
+
+    @Test
+    void requestsUpgradeWhenStoredCostDiffers() {
+        encoder = new BoundedPasswordEncoder(4, 1, 4, Duration.ofSeconds(5), registry);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("password123"))).isFalse();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met in time");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
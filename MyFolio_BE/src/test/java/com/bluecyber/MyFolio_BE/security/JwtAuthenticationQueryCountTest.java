@@ -0,0 +1,96 @@
+package com.bluecyber.MyFolio_BE.security;
+
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtAuthenticationQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.findByEmail("query-count@example.com").orElseGet(() -> userRepository.save(User.builder()
+                .name("Query Count")
+                .email("query-count@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .emailVerified(true)
+                .build()));
+    }
+
+    @Test
+    void claimsTokenResolvesCurrentUserIdWithoutQueries() throws Exception {
+        String token = jwtService.generateToken(user);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/user/me/id").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(user.getId()));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void claimsTokenReadsProfileAsSingleProjection() throws Exception {
+        String token = jwtService.generateToken(user);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/user/profile/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(user.getEmail()))
+                .andExpect(jsonPath("$.projects").doesNotExist())
+                .andExpect(jsonPath("$.version").doesNotExist());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void legacyTokenWithoutClaimsFallsBackToUserLookup() throws Exception {
+        String token = jwtService.generateToken(new HashMap<>(), user);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/user/me/id").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(user.getId()));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,108 @@
+package com.bluecyber.MyFolio_BE.security;
+
+import com.bluecyber.MyFolio_BE.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService = new JwtService(meterRegistry);
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheMaxSize", 100L);
+        jwtService.init();
+        user = User.builder().id(7L).name("Jwt").email("jwt@example.com").password("not-used").build();
+    }
+
+    @Test
+    void repeatedTokenIsServedFromTheCache() {
+        String token = jwtService.generateToken(user);
+
+        Claims first = jwtService.parseToken(token);
+        Claims second = jwtService.parseToken(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("jwt.verified.cache.hits").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwt.operations").tag("operation", "verify").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void cacheEvictsBeyondItsSizeAndDropsExpiredTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(1, Runnable::run);
+        Claims live = Jwts.claims().setSubject("a").setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        for (int i = 0; i < 3; i++) {
+            cache.put("token-" + i, live);
+        }
+        int cached = 0;
+        for (int i = 0; i < 3; i++) {
+            cached += cache.get("token-" + i) != null ? 1 : 0;
+        }
+        assertThat(cached).isLessThanOrEqualTo(1);
+
+        Claims expired = Jwts.claims().setSubject("b").setExpiration(new Date(System.currentTimeMillis() - 1));
+        cache.put("expired", expired);
+        assertThat(cache.get("expired")).isNull();
+    }
+
+    @Test
+    void invalidTokensAreRejectedAndNeverCached() {
+        String token = jwtService.generateToken(user);
+        String forged = token.substring(0, token.lastIndexOf('.') + 1) + "c2lnbmF0dXJl";
+        String withoutExpiration = Jwts.builder()
+                .setSubject(user.getEmail())
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThatThrownBy(() -> jwtService.parseToken(forged)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtService.parseToken(forged)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtService.parseToken(withoutExpiration)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtService.parseToken(withoutExpiration)).isInstanceOf(JwtException.class);
+        assertThat(meterRegistry.get("jwt.verified.cache.hits").counter().count()).isZero();
+
+        Claims noExpiration = Jwts.claims().setSubject(user.getEmail());
+        assertThat(jwtService.isTokenValid(noExpiration, user)).isFalse();
+        assertThat(jwtService.isTokenValid(Jwts.claims(), user)).isFalse();
+    }
+
+    @Test
+    void filterContinuesUnauthenticatedOnAnInvalidToken() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, username -> user, meterRegistry);
+        ReflectionTestUtils.setField(filter, "claimsPrincipal", true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/me/id");
+        request.addHeader("Authorization", "Bearer not.a.token");
+        MockFilterChain chain = new MockFilterChain();
+
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(meterRegistry.get("jwt.authentication").tag("outcome", "rejected").timer().count()).isEqualTo(1);
+    }
+}
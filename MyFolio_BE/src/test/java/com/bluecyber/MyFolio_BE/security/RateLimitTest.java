@@ -0,0 +1,97 @@
+package com.bluecyber.MyFolio_BE.security;
+
+import com.bluecyber.MyFolio_BE.TestFixtures;
+import com.bluecyber.MyFolio_BE.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "rate-limit.enabled=true",
+        "rate-limit.policies[0].name=login",
+        "rate-limit.policies[0].paths=/api/auth/login",
+        "rate-limit.policies[0].key=ip",
+        "rate-limit.policies[0].capacity=2",
+        "rate-limit.policies[0].period=1h",
+        "rate-limit.policies[1].name=api",
+        "rate-limit.policies[1].paths=/api/**",
+        "rate-limit.policies[1].key=user",
+        "rate-limit.policies[1].capacity=3",
+        "rate-limit.policies[1].period=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void loginAttemptsAreLimitedPerClientAddress() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(login("10.0.0.1")).andExpect(status().isUnauthorized());
+        }
+        mockMvc.perform(login("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                // One attempt every 30 minutes, less the time the earlier attempts took
+                .andExpect(header().string("Retry-After", matchesPattern("1800|17[5-9]\\d")))
+                .andExpect(jsonPath("$.status").value("TOO_MANY_REQUESTS"));
+
+        mockMvc.perform(login("10.0.0.2")).andExpect(status().isUnauthorized());
+        assertThat(meterRegistry.get("rate.limit.rejected").tag("policy", "login").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void signedInUsersHaveTheirOwnAllowance() throws Exception {
+        User alice = fixtures.user("alice");
+        User bob = fixtures.user("bob");
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(profile(alice.getId(), alice)).andExpect(status().isOk());
+        }
+        mockMvc.perform(profile(alice.getId(), alice)).andExpect(status().isTooManyRequests());
+
+        // Same address, different callers
+        mockMvc.perform(profile(alice.getId(), bob)).andExpect(status().isOk());
+        mockMvc.perform(profile(alice.getId(), null)).andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequestBuilder login(String address) {
+        return post("/api/auth/login")
+                .with(fromAddress(address))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"nobody@example.com\",\"password\":\"wrong-password\"}");
+    }
+
+    private MockHttpServletRequestBuilder profile(Long userId, User caller) {
+        MockHttpServletRequestBuilder request = get("/api/user/profile/{userId}", userId).with(fromAddress("10.0.1.1"));
+        return caller == null ? request : request.header("Authorization", fixtures.token(caller));
+    }
+
+    private static RequestPostProcessor fromAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
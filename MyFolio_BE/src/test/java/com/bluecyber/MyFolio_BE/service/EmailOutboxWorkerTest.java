@@ -0,0 +1,172 @@
+package com.bluecyber.MyFolio_BE.service;
+
+import com.bluecyber.MyFolio_BE.dto.RegisterRequest;
+import com.bluecyber.MyFolio_BE.entity.OutboxEmail;
+import com.bluecyber.MyFolio_BE.entity.OutboxStatus;
+import com.bluecyber.MyFolio_BE.repository.OutboxEmailRepository;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "email.outbox.max-attempts=2")
+@ActiveProfiles("test")
+class EmailOutboxWorkerTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private EmailOutboxWorker worker;
+
+    @Autowired
+    private OutboxEmailRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void registrationQueuesEmailThatIsDeliveredByTheWorker() throws Exception {
+        String email = register();
+        OutboxEmail queued = outboxFor(email);
+        assertThat(queued.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(queued.getBody()).contains("This link will expire in 1 hour.");
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+
+        worker.drainBatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo(email);
+        assertThat(received[0].getSubject()).isEqualTo("Verify your email");
+        OutboxEmail delivered = outboxRepository.findById(queued.getId()).orElseThrow();
+        assertThat(delivered.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(delivered.getSentAt()).isNotNull();
+    }
+
+    @Test
+    void failedDeliveriesBackOffAndEndUpDead() {
+        String email = register();
+        greenMail.stop();
+
+        worker.drainBatch();
+
+        OutboxEmail retrying = outboxFor(email);
+        assertThat(retrying.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(retrying.getAttempts()).isEqualTo(1);
+        assertThat(retrying.getLastError()).isNotBlank();
+        assertThat(retrying.getNextAttemptAt()).isAfter(Instant.now());
+
+        // Not due yet, so the next drain leaves it alone
+        worker.drainBatch();
+        assertThat(outboxFor(email).getAttempts()).isEqualTo(1);
+
+        jdbcTemplate.update("update email_outbox set next_attempt_at = ? where id = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)), retrying.getId());
+        worker.drainBatch();
+
+        OutboxEmail dead = outboxFor(email);
+        assertThat(dead.getStatus()).isEqualTo(OutboxStatus.DEAD);
+        assertThat(dead.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void twoWorkersDrainingTogetherSendEachEmailOnce() throws Exception {
+        List<String> recipients = List.of(register(), register(), register(), register());
+
+        // Two instances polling the same outbox at the same moment
+        CyclicBarrier start = new CyclicBarrier(2);
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> drainAfter(start));
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> drainAfter(start));
+        CompletableFuture.allOf(first, second).join();
+
+        for (String recipient : recipients) {
+            long copies = Arrays.stream(greenMail.getReceivedMessages())
+                    .filter(message -> recipientOf(message).equals(recipient))
+                    .count();
+            assertThat(copies).as("copies sent to %s", recipient).isEqualTo(1);
+            assertThat(outboxFor(recipient).getStatus()).isEqualTo(OutboxStatus.SENT);
+        }
+    }
+
+    @Test
+    void claimWhoseLeaseRanOutIsSentAgain() {
+        String email = register();
+        // Claimed by an instance that died before recording the outcome
+        jdbcTemplate.update("update email_outbox set status = 'SENDING', next_attempt_at = ? where id = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)), outboxFor(email).getId());
+
+        worker.drainBatch();
+
+        assertThat(greenMail.getReceivedMessages()).anyMatch(message -> recipientOf(message).equals(email));
+        assertThat(outboxFor(email).getStatus()).isEqualTo(OutboxStatus.SENT);
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        assertThat(worker.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(worker.backoff(3)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(worker.backoff(20)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void tokenLifetimesAreSpelledOut() {
+        assertThat(EmailService.describe(Duration.ofMinutes(30))).isEqualTo("30 minutes");
+        assertThat(EmailService.describe(Duration.ofHours(36))).isEqualTo("1 day 12 hours");
+        assertThat(EmailService.describe(Duration.ofSeconds(5))).isEqualTo("5 seconds");
+    }
+
+    private String register() {
+        String email = "outbox-" + System.nanoTime() + "@example.com";
+        authenticationService.register(RegisterRequest.builder()
+                .name("Outbox User")
+                .email(email)
+                .password("password123")
+                .build());
+        return email;
+    }
+
+    private int drainAfter(CyclicBarrier start) {
+        try {
+            start.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return worker.drainBatch();
+    }
+
+    private static String recipientOf(MimeMessage message) {
+        try {
+            return message.getAllRecipients()[0].toString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private OutboxEmail outboxFor(String recipient) {
+        return outboxRepository.findAll().stream()
+                .filter(email -> email.getRecipient().equals(recipient))
+                .findFirst()
+                .orElseThrow();
+    }
+}
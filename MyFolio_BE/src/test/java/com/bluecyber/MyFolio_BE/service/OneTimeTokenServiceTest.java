@@ -0,0 +1,117 @@
+package com.bluecyber.MyFolio_BE.service;
+
+import com.bluecyber.MyFolio_BE.TestFixtures;
+import com.bluecyber.MyFolio_BE.entity.Project;
+import com.bluecyber.MyFolio_BE.entity.TokenPurpose;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.exception.InvalidTokenException;
+import com.bluecyber.MyFolio_BE.repository.OneTimeTokenRepository;
+import com.bluecyber.MyFolio_BE.repository.ProjectRepository;
+import com.bluecyber.MyFolio_BE.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "tokens.sweep.chunk-size=2")
+@ActiveProfiles("test")
+class OneTimeTokenServiceTest {
+
+    @Autowired
+    private OneTimeTokenService tokenService;
+
+    @Autowired
+    private OneTimeTokenSweeper sweeper;
+
+    @Autowired
+    private OneTimeTokenRepository tokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void storesOnlyTheHashAndRedeemsOnce() {
+        User user = fixtures.user("Token User");
+        String token = tokenService.issue(user, TokenPurpose.PASSWORD_RESET, Duration.ofHours(1));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from one_time_tokens where token_hash = ?", Long.class, token)).isZero();
+        assertThatThrownBy(() -> tokenService.redeem(token, TokenPurpose.EMAIL_VERIFICATION))
+                .isInstanceOf(InvalidTokenException.class);
+
+        assertThat(tokenService.redeem(token, TokenPurpose.PASSWORD_RESET).getId()).isEqualTo(user.getId());
+        assertThatThrownBy(() -> tokenService.redeem(token, TokenPurpose.PASSWORD_RESET))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void reissuingReplacesTheOutstandingToken() {
+        User user = fixtures.user("Token User", false);
+        String first = tokenService.issue(user, TokenPurpose.EMAIL_VERIFICATION, Duration.ofHours(1));
+        String second = tokenService.issue(user, TokenPurpose.EMAIL_VERIFICATION, Duration.ofHours(1));
+
+        assertThatThrownBy(() -> tokenService.redeem(first, TokenPurpose.EMAIL_VERIFICATION))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThat(tokenService.redeem(second, TokenPurpose.EMAIL_VERIFICATION).getId()).isEqualTo(user.getId());
+    }
+
+    @Test
+    void rejectsExpiredTokens() {
+        String token = tokenService.issue(fixtures.user("Token User"), TokenPurpose.PASSWORD_RESET, Duration.ofMinutes(-1));
+
+        assertThatThrownBy(() -> tokenService.redeem(token, TokenPurpose.PASSWORD_RESET))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Token has expired");
+    }
+
+    @Test
+    void sweeperDeletesExpiredTokensAndStaleUnverifiedAccountsInChunks() {
+        User active = fixtures.user("Token User");
+        for (int i = 0; i < 5; i++) {
+            tokenService.issue(fixtures.user("Token User"), TokenPurpose.PASSWORD_RESET, Duration.ofMinutes(-1));
+        }
+        String live = tokenService.issue(active, TokenPurpose.PASSWORD_RESET, Duration.ofHours(1));
+
+        User stale = fixtures.user("Token User", false);
+        tokenService.issue(stale, TokenPurpose.EMAIL_VERIFICATION, Duration.ofHours(1));
+        User staleWithProjects = fixtures.user("Token User", false);
+        projectRepository.save(Project.builder().name("Keep me").user(staleWithProjects).build());
+        User recent = fixtures.user("Token User", false);
+        backdate(stale);
+        backdate(staleWithProjects);
+
+        assertThat(sweeper.sweepExpiredTokens()).isGreaterThanOrEqualTo(5);
+        assertThat(sweeper.sweepUnverifiedUsers()).isGreaterThanOrEqualTo(1);
+
+        assertThat(tokenRepository.findExpiredIds(Instant.now(), Limit.of(1))).isEmpty();
+        assertThat(tokenService.redeem(live, TokenPurpose.PASSWORD_RESET).getId()).isEqualTo(active.getId());
+        assertThat(userRepository.findById(stale.getId())).isEmpty();
+        assertThat(userRepository.findById(staleWithProjects.getId())).isPresent();
+        assertThat(userRepository.findById(recent.getId())).isPresent();
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from one_time_tokens where user_id = ?", Long.class, stale.getId())).isZero();
+    }
+
+    private void backdate(User user) {
+        jdbcTemplate.update("update users set created_at = ? where id = ?",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(30))), user.getId());
+    }
+}
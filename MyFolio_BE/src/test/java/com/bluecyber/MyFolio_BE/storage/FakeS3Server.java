@@ -0,0 +1,187 @@
+package com.bluecyber.MyFolio_BE.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Minimal path-style S3 stand-in: enough of PUT/GET/HEAD/DELETE object and
+ * ListObjectsV2 for {@link S3BlobStorage}. Signatures are not checked.
+ */
+class FakeS3Server implements AutoCloseable {
+
+    record StoredObject(byte[] content, String contentType, String cacheControl, Instant lastModified) {
+    }
+
+    private final HttpServer server;
+    private final Map<String, StoredObject> objects = new ConcurrentSkipListMap<>();
+    private volatile boolean failListings;
+
+    FakeS3Server() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    Map<String, StoredObject> objects() {
+        return objects;
+    }
+
+    /**
+     * Makes ListObjectsV2 answer with a server error, as an unavailable bucket does.
+     */
+    void failListings(boolean fail) {
+        failListings = fail;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8);
+            String[] parts = path.substring(1).split("/", 2);
+            String bucketPath = "/" + parts[0] + "/";
+            String key = parts.length > 1 ? parts[1] : "";
+            String method = exchange.getRequestMethod();
+            if (key.isEmpty() && method.equals("GET")) {
+                list(exchange, query(exchange, "prefix"));
+                return;
+            }
+            String id = bucketPath + key;
+            StoredObject object = objects.get(id);
+            switch (method) {
+                case "PUT" -> {
+                    byte[] body = exchange.getRequestBody().readAllBytes();
+                    if (exchange.getRequestHeaders().containsKey("x-amz-decoded-content-length")) {
+                        body = decodeChunked(body);
+                    }
+                    objects.put(id, new StoredObject(body,
+                            exchange.getRequestHeaders().getFirst("Content-Type"),
+                            exchange.getRequestHeaders().getFirst("Cache-Control"),
+                            Instant.now()));
+                    exchange.getResponseHeaders().add("ETag", "\"" + Integer.toHexString(id.hashCode()) + "\"");
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "GET", "HEAD" -> {
+                    if (object == null) {
+                        notFound(exchange, method.equals("HEAD"));
+                        return;
+                    }
+                    exchange.getResponseHeaders().add("Content-Type", object.contentType());
+                    exchange.getResponseHeaders().add("Last-Modified", "Thu, 01 Jan 2026 00:00:00 GMT");
+                    if (method.equals("HEAD")) {
+                        exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.content().length));
+                        exchange.sendResponseHeaders(200, -1);
+                    } else {
+                        exchange.sendResponseHeaders(200, object.content().length);
+                        try (OutputStream out = exchange.getResponseBody()) {
+                            out.write(object.content());
+                        }
+                    }
+                }
+                case "DELETE" -> {
+                    objects.remove(id);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private void list(HttpExchange exchange, String prefix) throws IOException {
+        if (failListings) {
+            exchange.sendResponseHeaders(503, -1);
+            return;
+        }
+        String bucketPath = exchange.getRequestURI().getPath();
+        if (!bucketPath.endsWith("/")) {
+            bucketPath += "/";
+        }
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\"><IsTruncated>false</IsTruncated>");
+        for (var entry : objects.entrySet()) {
+            if (entry.getKey().startsWith(bucketPath + (prefix == null ? "" : prefix))) {
+                xml.append("<Contents><Key>").append(entry.getKey().substring(bucketPath.length()))
+                        .append("</Key><LastModified>").append(entry.getValue().lastModified())
+                        .append("</LastModified><Size>").append(entry.getValue().content().length)
+                        .append("</Size></Contents>");
+            }
+        }
+        xml.append("</ListBucketResult>");
+        byte[] body = xml.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static void notFound(HttpExchange exchange, boolean head) throws IOException {
+        if (head) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        byte[] body = "<Error><Code>NoSuchKey</Code><Message>Not found</Message></Error>".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(404, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static String query(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            String[] kv = pair.split("=", 2);
+            if (kv[0].equals(name)) {
+                return kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Strips aws-chunked framing: {@code <hex size>;chunk-signature=...\r\n<data>\r\n}.
+     */
+    private static byte[] decodeChunked(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InputStream in = new ByteArrayInputStream(body);
+        while (true) {
+            String header = readLine(in);
+            int size = Integer.parseInt(header.split(";")[0].trim(), 16);
+            if (size == 0) {
+                return out.toByteArray();
+            }
+            out.write(in.readNBytes(size));
+            readLine(in);
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,133 @@
+package com.bluecyber.MyFolio_BE.storage;
+
+import com.bluecyber.MyFolio_BE.TestFixtures;
+import com.bluecyber.MyFolio_BE.dto.ProfileImageVariants;
+import com.bluecyber.MyFolio_BE.entity.User;
+import com.bluecyber.MyFolio_BE.service.ImageBlobStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "storage.type=s3",
+        "storage.s3.bucket=images",
+        "storage.s3.access-key=test",
+        "storage.s3.secret-key=test"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class S3BlobStorageTest {
+
+    private static final FakeS3Server S3 = start();
+
+    @DynamicPropertySource
+    static void s3Endpoint(DynamicPropertyRegistry registry) {
+        registry.add("storage.s3.endpoint", S3::endpoint);
+    }
+
+    @AfterAll
+    static void stop() {
+        S3.close();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ImageBlobStore imageBlobStore;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void imagesAreStoredInTheBucketAndServedThroughPresignedRedirects() throws Exception {
+        User user = fixtures.user("Bucket Owner");
+        String token = fixtures.token(user);
+
+        mockMvc.perform(put("/api/user/profile/image").contentType("image/png").content(png()).header("Authorization", token))
+                .andExpect(status().isOk());
+        String hash = fixtures.awaitProcessedImage(user.getId()).getProfileImageHash();
+
+        String original = "/images/profile-images/" + ProfileImageVariants.originalName(hash, ".png");
+        assertThat(S3.objects()).containsKey(original);
+        for (int width : ProfileImageVariants.WIDTHS) {
+            var variant = S3.objects().get("/images/profile-images/" + ProfileImageVariants.fileName(hash, width));
+            assertThat(variant.contentType()).isEqualTo("image/jpeg");
+            assertThat(variant.cacheControl()).contains("immutable");
+        }
+
+        String location = mockMvc.perform(get(ProfileImageVariants.urls(hash).get("64")))
+                .andExpect(status().isFound())
+                .andReturn().getResponse().getHeader("Location");
+        assertThat(location).startsWith(S3.endpoint()).contains("X-Amz-Signature=");
+        HttpResponse<byte[]> fetched = HttpClient.newHttpClient()
+                .send(HttpRequest.newBuilder(URI.create(location)).build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(ImageIO.read(new ByteArrayInputStream(fetched.body())).getWidth()).isEqualTo(64);
+
+        mockMvc.perform(delete("/api/user/profile/image").header("Authorization", token))
+                .andExpect(status().isOk());
+        imageBlobStore.collectGarbage(Instant.now().plusSeconds(1));
+        assertThat(S3.objects()).doesNotContainKey(original);
+    }
+
+    @Test
+    void unavailableBucketFailsTheListingButNotTheStagingSweep() throws Exception {
+        Path stale = Files.createTempFile(imageBlobStore.getIncomingDirectory(), "upload-", ".part");
+        S3.failListings(true);
+        try {
+            assertThatThrownBy(() -> {
+                try (var objects = imageBlobStore.getStorage().list()) {
+                    objects.count();
+                }
+            }).isInstanceOfAny(IOException.class, UncheckedIOException.class);
+
+            imageBlobStore.collectGarbage(Instant.now().plusSeconds(1));
+        } finally {
+            S3.failListings(false);
+        }
+        assertThat(Files.exists(stale)).isFalse();
+    }
+
+    private static byte[] png() throws IOException {
+        BufferedImage image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(10, 10, 0xFF0000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static FakeS3Server start() {
+        try {
+            return new FakeS3Server();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
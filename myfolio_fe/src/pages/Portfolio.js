@@ -7,7 +7,7 @@ import { toast } from 'react-toastify';
 import Button from '../components/common/Button';
 import DefaultAvatar from '../components/common/DefaultAvatar';
 import defaultProjectImage from '../assets/images/default-project.png';
-import { user, projects } from '../services/api';
+import { portfolio } from '../services/api';
 import { BASE_URL } from '../config/constants';
 
 const Container = styled.div`
@@ -136,15 +136,18 @@ const Portfolio = () => {
     return url;
   };
 
+  // Prefer the resized 256px variant; fall back to the original while it is processed
+  const getAvatarUrl = (data) => {
+    const variant = data.profileImageUrls?.['256'];
+    return variant ? `${BASE_URL}${variant}` : getImageUrl(data.profileImage);
+  };
+
   useEffect(() => {
     const fetchData = async () => {
       try {
-        const [profileResponse, projectsResponse] = await Promise.all([
-          user.getProfile(userId),
-          projects.getUserProjects(userId),
-        ]);
-        setProfile(profileResponse.data);
-        setUserProjects(projectsResponse.data);
+        const { data } = await portfolio.get(userId);
+        setProfile(data);
+        setUserProjects(data.projects);
       } catch (error) {
         toast.error('Failed to load portfolio');
       }
@@ -169,11 +172,11 @@ const Portfolio = () => {
         <ProfileImageContainer>
           {profile.profileImage && !imageError ? (
             <ProfileImage 
-              src={getImageUrl(profile.profileImage)} 
+              src={getAvatarUrl(profile)} 
               alt={profile.name}
               onError={(e) => {
                 console.error('Error loading image:', e);
-                console.log('Image URL was:', getImageUrl(profile.profileImage));
+                console.log('Image URL was:', getAvatarUrl(profile));
                 setImageError(true);
               }}
             />
@@ -236,6 +236,12 @@ const ProfileSettings = () => {
     return url;
   };
 
+  // Prefer the resized 256px variant; fall back to the original while it is processed
+  const getAvatarUrl = (data) => {
+    const variant = data.profileImageUrls?.['256'];
+    return variant ? `${BASE_URL}${variant}` : getImageUrl(data.profileImage);
+  };
+
   useEffect(() => {
     const fetchData = async () => {
       try {
@@ -257,7 +263,7 @@ const ProfileSettings = () => {
         formik.setValues(profileData);
         
         setUserId(userIdRes.data.id);
-        const imageUrl = profileRes.data.profileImage ? getImageUrl(profileRes.data.profileImage) : null;
+        const imageUrl = profileRes.data.profileImage ? getAvatarUrl(profileRes.data) : null;
         console.log('Setting profile image URL:', imageUrl);
         setProfileImage(imageUrl);
       } catch (error) {
@@ -303,7 +309,7 @@ const ProfileSettings = () => {
       console.log('Uploading image:', file);
       const response = await user.updateProfileImage(file);
       console.log('Upload response:', response);
-      setProfileImage(getImageUrl(response.data.profileImage));
+      setProfileImage(getAvatarUrl(response.data));
       toast.success('Profile image updated successfully!');
     } catch (error) {
       console.error('Upload error:', error);
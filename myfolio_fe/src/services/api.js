@@ -58,11 +58,10 @@ export const user = {
     if (!file) {
       return api.delete('/user/profile/image');
     }
-    const formData = new FormData();
-    formData.append('file', file);
-    return api.post('/user/profile/image', formData, {
+    // Raw body upload: the server streams it to disk without multipart parsing
+    return api.put('/user/profile/image', file, {
       headers: {
-        'Content-Type': 'multipart/form-data',
+        'Content-Type': file.type,
       },
     });
   },
@@ -71,6 +70,11 @@ export const user = {
     api.put('/user/password', data),
 };
 
+export const portfolio = {
+  get: (userId) =>
+    api.get(`/portfolio/${userId}`),
+};
+
 export const projects = {
   getUserProjects: (userId) =>
     userId === 'me' 